@@ -34,6 +34,7 @@ import TaskDependencies from './TaskDependencies';
 const TaskDetails = ({ task, onClose }) => {
   const [activeTab, setActiveTab] = useState(0);
   const [comments, setComments] = useState([]);
+  const [commentsCursor, setCommentsCursor] = useState(null);
   const [attachments, setAttachments] = useState([]);
   const [newComment, setNewComment] = useState('');
   const [loading, setLoading] = useState(false);
@@ -48,8 +49,23 @@ const TaskDetails = ({ task, onClose }) => {
 
   const fetchComments = async () => {
     try {
+      // Newest first, one page at a time; older pages are loaded on demand
       const response = await axios.get(`http://localhost:8080/api/tasks/${task.id}/comments`);
-      setComments(response.data);
+      setComments(response.data.items);
+      setCommentsCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error fetching comments:', error);
+      setError('Failed to load comments');
+    }
+  };
+
+  const fetchOlderComments = async () => {
+    try {
+      const response = await axios.get(`http://localhost:8080/api/tasks/${task.id}/comments`, {
+        params: { cursor: commentsCursor }
+      });
+      setComments(prev => [...prev, ...response.data.items]);
+      setCommentsCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error fetching comments:', error);
       setError('Failed to load comments');
@@ -71,11 +87,13 @@ const TaskDetails = ({ task, onClose }) => {
 
     try {
       setLoading(true);
-      await axios.post(`http://localhost:8080/api/tasks/${task.id}/comments`, {
-        content: newComment
+      const user = JSON.parse(localStorage.getItem('user') || 'null');
+      const response = await axios.post(`http://localhost:8080/api/tasks/${task.id}/comments`, {
+        content: newComment,
+        userId: user?.id
       });
       setNewComment('');
-      fetchComments();
+      setComments(prev => [response.data, ...prev]);
     } catch (error) {
       console.error('Error adding comment:', error);
       setError('Failed to add comment');
@@ -88,14 +106,13 @@ const TaskDetails = ({ task, onClose }) => {
     const file = event.target.files[0];
     if (!file) return;
 
-    const formData = new FormData();
-    formData.append('file', file);
-
     try {
       setLoading(true);
-      await axios.post(`http://localhost:8080/api/tasks/${task.id}/attachments`, formData, {
+      // The raw body is streamed and hashed by the server in one pass; no multipart spooling
+      await axios.post(`http://localhost:8080/api/tasks/${task.id}/attachments`, file, {
+        params: { fileName: file.name },
         headers: {
-          'Content-Type': 'multipart/form-data'
+          'Content-Type': file.type || 'application/octet-stream'
         }
       });
       fetchAttachments();
@@ -107,15 +124,15 @@ const TaskDetails = ({ task, onClose }) => {
     }
   };
 
-  const handleDownloadAttachment = async (attachmentId) => {
+  const handleDownloadAttachment = async (attachment) => {
     try {
-      const response = await axios.get(`http://localhost:8080/api/attachments/${attachmentId}/download`, {
+      const response = await axios.get(`http://localhost:8080/api/attachments/${attachment.id}/download`, {
         responseType: 'blob'
       });
       const url = window.URL.createObjectURL(new Blob([response.data]));
       const link = document.createElement('a');
       link.href = url;
-      link.setAttribute('download', response.headers['content-disposition'].split('filename=')[1]);
+      link.setAttribute('download', attachment.fileName);
       document.body.appendChild(link);
       link.click();
       link.remove();
@@ -227,7 +244,7 @@ const TaskDetails = ({ task, onClose }) => {
           </Box>
           <List>
             {comments.map((comment) => (
-              <React.Fragment key={comment.id}>
+              <React.Fragment key={comment.seq}>
                 <ListItem alignItems="flex-start">
                   <ListItemAvatar>
                     <Avatar>{comment.userName?.[0]}</Avatar>
@@ -249,6 +266,11 @@ const TaskDetails = ({ task, onClose }) => {
               </React.Fragment>
             ))}
           </List>
+          {commentsCursor && (
+            <Button onClick={fetchOlderComments} size="small">
+              Load older comments
+            </Button>
+          )}
         </Box>
       )}
 
@@ -280,7 +302,7 @@ const TaskDetails = ({ task, onClose }) => {
                   <Box>
                     <IconButton
                       edge="end"
-                      onClick={() => handleDownloadAttachment(attachment.id)}
+                      onClick={() => handleDownloadAttachment(attachment)}
                     >
                       <DownloadIcon />
                     </IconButton>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import { 
   Typography, 
   Box, 
@@ -29,6 +29,7 @@ import TaskItem from './TaskItem';
 import FlagIcon from '@mui/icons-material/Flag';
 import CategoryIcon from '@mui/icons-material/Category';
 import TaskDetails from './TaskDetails';
+import { subscribeToTaskFeed } from '../services/taskFeed';
 
 const CATEGORIES = [
   'Work',
@@ -55,6 +56,29 @@ const TaskList = () => {
   const [sortOrder, setSortOrder] = useState('asc');
   const [error, setError] = useState(null);
   const [selectedTask, setSelectedTask] = useState(null);
+  // Ids deleted by the change feed while a full fetch was in flight
+  const deletedIds = useRef(new Set());
+
+  // Keeps whichever copy of a task carries the newer change version
+  const upsertTask = useCallback((task) => {
+    setTasks(prev => {
+      const index = prev.findIndex(t => t.id === task.id);
+      if (index === -1) {
+        return [...prev, task];
+      }
+      if ((prev[index].changeVersion ?? 0) > (task.changeVersion ?? 0)) {
+        return prev;
+      }
+      const next = [...prev];
+      next[index] = { ...prev[index], ...task };
+      return next;
+    });
+  }, []);
+
+  const removeTask = useCallback((id) => {
+    deletedIds.current.add(id);
+    setTasks(prev => prev.filter(t => t.id !== id));
+  }, []);
 
   const fetchTasks = useCallback(async () => {
     try {
@@ -74,9 +98,20 @@ const TaskList = () => {
         return;
       }
 
+      deletedIds.current = new Set();
       const response = await axios.get(`http://localhost:8080/api/tasks?userId=${user.id}`);
-      setTasks(response.data);
-      setFilteredTasks(response.data);
+      // Feed events that arrived during the request may be newer than the response
+      setTasks(prev => {
+        const fetched = response.data.filter(t => !deletedIds.current.has(t.id));
+        const byId = new Map(fetched.map(t => [t.id, t]));
+        prev.forEach(t => {
+          const current = byId.get(t.id);
+          if (!current || (t.changeVersion ?? 0) > (current.changeVersion ?? 0)) {
+            byId.set(t.id, t);
+          }
+        });
+        return Array.from(byId.values());
+      });
       setError(null);
     } catch (error) {
       console.error('Error fetching tasks:', error);
@@ -92,8 +127,28 @@ const TaskList = () => {
   }, [navigate]);
 
   useEffect(() => {
+    const user = JSON.parse(localStorage.getItem('user') || 'null');
+    if (!user || !user.id || typeof ReadableStream === 'undefined') {
+      fetchTasks();
+      return undefined;
+    }
+    // Changes from this and every other tab arrive here; the token decides whose feed it is,
+    // and "resync" means the server could not replay the gap since the last event
+    const unsubscribe = subscribeToTaskFeed({
+      token: localStorage.getItem('token'),
+      userId: user.id,
+      onChange: (change) => {
+        if (change.type === 'DELETED') {
+          removeTask(change.taskId);
+        } else {
+          upsertTask(change.task);
+        }
+      },
+      onResync: () => fetchTasks()
+    });
     fetchTasks();
-  }, [fetchTasks]);
+    return unsubscribe;
+  }, [fetchTasks, upsertTask, removeTask]);
 
   useEffect(() => {
     let result = [...tasks];
@@ -147,7 +202,7 @@ const TaskList = () => {
   const handleDelete = async (id) => {
     try {
       await axios.delete(`http://localhost:8080/api/tasks/${id}`);
-      fetchTasks();
+      removeTask(id);
     } catch (error) {
       console.error('Error deleting task:', error);
     }
@@ -161,20 +216,37 @@ const TaskList = () => {
     setSortOrder(prev => prev === 'asc' ? 'desc' : 'asc');
   };
 
+  // Sends only the changed fields with the version last seen; a status flip is one UPDATE
   const handleTaskUpdate = async (taskId, updatedTask) => {
+    const current = tasks.find(t => t.id === taskId);
+    const patch = { version: current?.version ?? updatedTask.version };
+    ['title', 'description', 'status', 'dueDate'].forEach(field => {
+      if (!current || current[field] !== updatedTask[field]) {
+        patch[field] = updatedTask[field] ?? null;
+      }
+    });
+    if (Object.keys(patch).length === 1) {
+      return;
+    }
     try {
-      await axios.put(`http://localhost:8080/api/tasks/${taskId}`, updatedTask);
-      fetchTasks();
+      const response = await axios.patch(`http://localhost:8080/api/tasks/${taskId}`, patch);
+      upsertTask(response.data);
     } catch (error) {
       console.error('Error updating task:', error);
-      setError('Failed to update task');
+      if (error.response?.status === 409) {
+        const latest = await axios.get(`http://localhost:8080/api/tasks/${taskId}`);
+        upsertTask(latest.data);
+        setError('The task was changed elsewhere and has been reloaded');
+      } else {
+        setError('Failed to update task');
+      }
     }
   };
 
   const handleTaskDelete = async (taskId) => {
     try {
       await axios.delete(`http://localhost:8080/api/tasks/${taskId}`);
-      fetchTasks();
+      removeTask(taskId);
     } catch (error) {
       console.error('Error deleting task:', error);
       setError('Failed to delete task');
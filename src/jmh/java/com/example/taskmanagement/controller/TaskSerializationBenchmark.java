@@ -0,0 +1,74 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a task list response body with the application's {@link ObjectMapper} bean, and
+ * with the same date settings but no Hibernate6Module, to show what the module costs on
+ * plain DTOs. Output goes to a null stream so only serializer work and allocation count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectWriter applicationWriter;
+    private ObjectWriter plainWriter;
+    private List<TaskDTO> tasks;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        applicationWriter = TaskController.objectMapper().writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        plainWriter = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        tasks = new ArrayList<>(size);
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskDTO((long) i, "Task " + i, "Description for task number " + i,
+                    STATUSES[i % STATUSES.length], i % 5 == 0 ? null : base.plusDays(i % 365),
+                    base, base.plusDays(i % 30),
+                    (long) (i % 20), "User " + (i % 20), (long) i, i % 7, (long) (i % 3)));
+        }
+    }
+
+    @Benchmark
+    public void applicationMapper() throws IOException {
+        applicationWriter.writeValue(sink, tasks);
+    }
+
+    @Benchmark
+    public void withoutHibernateModule() throws IOException {
+        plainWriter.writeValue(sink, tasks);
+    }
+}
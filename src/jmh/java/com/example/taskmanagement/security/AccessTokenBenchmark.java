@@ -0,0 +1,50 @@
+package com.example.taskmanagement.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: the full HMAC check on a cache miss and
+ * the cached lookup every later request with the same token pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessTokenBenchmark {
+    private AccessTokenService tokens;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AccessTokenProperties properties = new AccessTokenProperties();
+        properties.setKeys(Map.of("k1", Base64.getEncoder().encodeToString("benchmark-signing-key-0123456789".getBytes())));
+        properties.setActiveKeyId("k1");
+        tokens = new AccessTokenService(properties);
+        token = tokens.issue(42L);
+        tokens.verify(token);
+    }
+
+    @Benchmark
+    public TokenPrincipal verifySignature() {
+        return tokens.parse(token);
+    }
+
+    @Benchmark
+    public TokenPrincipal verifyCached() {
+        return tokens.verify(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokens.issue(42L);
+    }
+}
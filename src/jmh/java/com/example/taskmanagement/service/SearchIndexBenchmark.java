@@ -0,0 +1,91 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency for a single user with a large task list. Words follow a skewed distribution
+ * over a synthetic vocabulary, so common terms have long postings lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchIndexBenchmark {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"100000"})
+    public int tasks;
+
+    private UserSearchIndex index;
+    private String[] vocabulary;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, i);
+        }
+        index = new UserSearchIndex();
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int id = 1; id <= tasks; id++) {
+            index.put(id, words(random, 4), words(random, 20), STATUSES[id % STATUSES.length],
+                    id % 4 == 0 ? null : base.plusDays(id % 365));
+        }
+    }
+
+    @Benchmark
+    public UserSearchIndex.Result commonTerm() {
+        return index.search(vocabulary[3], task -> true, 20, 64);
+    }
+
+    @Benchmark
+    public UserSearchIndex.Result rareTerm() {
+        return index.search(vocabulary[15_000], task -> true, 20, 64);
+    }
+
+    @Benchmark
+    public UserSearchIndex.Result twoTerms() {
+        return index.search(vocabulary[3] + " " + vocabulary[40], task -> true, 20, 64);
+    }
+
+    @Benchmark
+    public UserSearchIndex.Result shortPrefix() {
+        return index.search(vocabulary[3].substring(0, 2), task -> true, 20, 64);
+    }
+
+    @Benchmark
+    public UserSearchIndex.Result commonTermWithFilter() {
+        return index.search(vocabulary[3], task -> task.status() == TaskStatus.TODO && task.dueDate() != null, 20, 64);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // Roughly Zipfian: low indexes are picked far more often
+            int rank = (int) Math.min(vocabulary.length - 1, Math.pow(vocabulary.length, random.nextDouble()) - 1);
+            text.append(vocabulary[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random, int i) {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(6);
+        for (int c = 0; c < length; c++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.append(i % 10).toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskMapper;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.UserDTO;
+import com.example.taskmanagement.model.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion: the hand-written mapping in {@link TaskService} against the
+ * MapStruct-generated mappers for the same objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMappingBenchmark {
+    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private Task task;
+    private User user;
+    private TaskDTO taskDto;
+    private com.example.taskmanagement.model.TaskDTO mapstructTaskDto;
+    private UserDTO userDto;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(7L);
+        user.setName("Benchmark User");
+        user.setEmail("bench@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("Write quarterly report");
+        task.setDescription("Collect figures from every team and summarise the quarter");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setDueDate(LocalDate.of(2024, 6, 30));
+        task.setCreatedAt(LocalDate.of(2024, 6, 1));
+        task.setUpdatedAt(LocalDate.of(2024, 6, 10));
+        task.setChangeVersion(1234L);
+        task.setUser(user);
+
+        taskDto = TaskService.convertToDTO(task);
+        mapstructTaskDto = taskMapper.toDto(task);
+        userDto = userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public TaskDTO serviceToDto() {
+        return TaskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public Task serviceToEntity() {
+        return TaskService.convertToEntity(taskDto);
+    }
+
+    @Benchmark
+    public com.example.taskmanagement.model.TaskDTO mapstructTaskToDto() {
+        return taskMapper.toDto(task);
+    }
+
+    @Benchmark
+    public Task mapstructTaskToEntity() {
+        return taskMapper.toEntity(mapstructTaskDto);
+    }
+
+    @Benchmark
+    public UserDTO mapstructUserToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User mapstructUserToEntity() {
+        return userMapper.toEntity(userDto);
+    }
+}
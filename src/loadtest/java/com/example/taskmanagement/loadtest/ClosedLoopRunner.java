@@ -0,0 +1,99 @@
+package com.example.taskmanagement.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives {@code concurrency} client threads, each issuing its next request as soon as the
+ * previous one completes, picking steps at random by weight. Requests made during warm-up are
+ * not recorded.
+ */
+final class ClosedLoopRunner {
+
+    @FunctionalInterface
+    interface Operation {
+        /** Performs one request for the given worker and returns the HTTP status. */
+        int run(int worker) throws Exception;
+    }
+
+    record Step(String name, int weight, Operation operation) {
+    }
+
+    record Result(LatencyRecorder.Summary total, Map<String, LatencyRecorder.Summary> steps) {
+    }
+
+    static Result run(int concurrency, Duration warmup, Duration duration, List<Step> steps)
+            throws InterruptedException {
+        int[] cumulative = new int[steps.size()];
+        int totalWeight = 0;
+        for (int s = 0; s < steps.size(); s++) {
+            totalWeight += steps.get(s).weight();
+            cumulative[s] = totalWeight;
+        }
+        int weights = totalWeight;
+
+        LatencyRecorder[][] recorders = new LatencyRecorder[concurrency][steps.size()];
+        List<Thread> threads = new ArrayList<>(concurrency);
+        CountDownLatch ready = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            for (int s = 0; s < steps.size(); s++) {
+                recorders[worker][s] = new LatencyRecorder();
+            }
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    int pick = random.nextInt(weights);
+                    int s = 0;
+                    while (cumulative[s] <= pick) {
+                        s++;
+                    }
+                    int status;
+                    try {
+                        status = steps.get(s).operation().run(worker);
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (now >= measureFrom) {
+                        recorders[worker][s].record(System.nanoTime() - now, status);
+                    }
+                }
+            }, "load-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        ready.await();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long elapsed = end - measureFrom;
+        List<LatencyRecorder> all = new ArrayList<>();
+        Map<String, LatencyRecorder.Summary> byStep = new LinkedHashMap<>();
+        for (int s = 0; s < steps.size(); s++) {
+            List<LatencyRecorder> forStep = new ArrayList<>(concurrency);
+            for (LatencyRecorder[] workerRecorders : recorders) {
+                forStep.add(workerRecorders[s]);
+            }
+            all.addAll(forStep);
+            byStep.put(steps.get(s).name(), LatencyRecorder.summarize(forStep, elapsed));
+        }
+        return new Result(LatencyRecorder.summarize(all, elapsed), byStep);
+    }
+
+    private ClosedLoopRunner() {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares two {@link LoadReport} files step by step, matching runs by dataset size and
+ * scenarios and steps by name. A step regresses when throughput drops, or p99 rises, by more
+ * than the threshold.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.example.taskmanagement.loadtest.CompareReports
+ * -Dloadtest.args="--baseline=a.json --candidate=b.json --threshold=10 --fail-on-regression=true"}
+ */
+public final class CompareReports {
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        LoadReport baseline = LoadReport.read(Path.of(args.string("baseline", null)));
+        LoadReport candidate = LoadReport.read(Path.of(args.string("candidate", null)));
+        double threshold = args.integer("threshold", 10);
+        boolean failOnRegression = Boolean.parseBoolean(args.string("fail-on-regression", "false"));
+
+        System.out.printf("baseline:  %s (%s, %d cpus)%n", baseline.label(), baseline.environment().javaVersion(),
+                baseline.environment().processors());
+        System.out.printf("candidate: %s (%s, %d cpus)%n", candidate.label(), candidate.environment().javaVersion(),
+                candidate.environment().processors());
+
+        int regressions = 0;
+        for (LoadReport.Run run : candidate.runs()) {
+            LoadReport.Run base = baseline.runs().stream()
+                    .filter(r -> r.tasksPerUser() == run.tasksPerUser()).findFirst().orElse(null);
+            if (base == null) {
+                System.out.printf("%n%d tasks per user: not in baseline%n", run.tasksPerUser());
+                continue;
+            }
+            System.out.printf("%n%d tasks per user%n", run.tasksPerUser());
+            System.out.printf("%-26s %24s %24s %24s %4s%n", "scenario/step", "req/s", "p50 ms", "p99 ms", "");
+            for (LoadReport.ScenarioResult result : run.scenarios()) {
+                LoadReport.ScenarioResult baseResult = base.scenarios().stream()
+                        .filter(r -> r.scenario().equals(result.scenario())).findFirst().orElse(null);
+                if (baseResult == null) {
+                    continue;
+                }
+                regressions += row(result.scenario(), baseResult.total(), result.total(), threshold);
+                for (Map.Entry<String, LatencyRecorder.Summary> step : result.steps().entrySet()) {
+                    LatencyRecorder.Summary baseStep = baseResult.steps().get(step.getKey());
+                    if (baseStep != null) {
+                        regressions += row("  " + step.getKey(), baseStep, step.getValue(), threshold);
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.0f%%%n", regressions, threshold);
+        if (failOnRegression && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int row(String name, LatencyRecorder.Summary base, LatencyRecorder.Summary candidate,
+                           double threshold) {
+        double throughputChange = change(base, candidate, LatencyRecorder.Summary::throughput);
+        double p99Change = change(base, candidate, LatencyRecorder.Summary::p99Millis);
+        boolean regressed = throughputChange < -threshold || p99Change > threshold;
+        System.out.printf("%-26s %24s %24s %24s %4s%n", name,
+                cell(base.throughput(), candidate.throughput(), throughputChange),
+                cell(base.p50Millis(), candidate.p50Millis(), change(base, candidate, LatencyRecorder.Summary::p50Millis)),
+                cell(base.p99Millis(), candidate.p99Millis(), p99Change),
+                regressed ? "!!" : "");
+        return regressed ? 1 : 0;
+    }
+
+    private static double change(LatencyRecorder.Summary base, LatencyRecorder.Summary candidate,
+                                 ToDoubleFunction<LatencyRecorder.Summary> metric) {
+        double before = metric.applyAsDouble(base);
+        return before == 0 ? 0 : (metric.applyAsDouble(candidate) - before) * 100 / before;
+    }
+
+    private static String cell(double before, double after, double changePercent) {
+        return String.format("%.1f -> %.1f (%+.0f%%)", before, after, changePercent);
+    }
+
+    private CompareReports() {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Users and tasks created through the API before a run, so caches, change versions and
+ * analytics are in the same state they would be in production.
+ */
+record Dataset(long[] userIds, String[] emails, String[] passwords, List<List<Long>> taskIds) {
+    private static final int SEED_BATCH_SIZE = 500;
+
+    static Dataset seed(LoadClient client, int users, int tasksPerUser) throws Exception {
+        long[] userIds = new long[users];
+        String[] emails = new String[users];
+        String[] passwords = new String[users];
+        List<List<Long>> taskIds = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            emails[u] = "load" + u + "@example.com";
+            passwords[u] = "password" + u;
+            userIds[u] = client.signup("Load User " + u, emails[u], passwords[u]);
+            taskIds.add(client.seedTasks(userIds[u], tasksPerUser, SEED_BATCH_SIZE));
+        }
+        return new Dataset(userIds, emails, passwords, taskIds);
+    }
+
+    int users() {
+        return userIds.length;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the application in-process on a random port with its own in-memory database and quiet
+ * logging. Extra properties are passed as command-line arguments so they win over
+ * application.properties.
+ */
+final class EmbeddedApp implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private EmbeddedApp(ConfigurableApplicationContext context) {
+        this.context = context;
+        Integer port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    static EmbeddedApp start(String name, Map<String, String> properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> merged = new LinkedHashMap<>();
+        merged.put("server.port", "0");
+        merged.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + name + ";DB_CLOSE_ON_EXIT=FALSE");
+        merged.put("spring.main.banner-mode", "off");
+        merged.put("spring.jpa.show-sql", "false");
+        merged.put("logging.level.root", "WARN");
+        merged.put("logging.level.com.example", "WARN");
+        merged.put("logging.level.org.hibernate.SQL", "WARN");
+        merged.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        // Load generators hammer the API from one address; scenarios opt back in to measure it
+        merged.put("app.admission.enabled", "false");
+        // Throwaway signing key; the application has no default one
+        merged.put("app.auth.tokens.keys.k1", "bG9hZHRlc3QtdG9rZW4tc2lnbmluZy1rZXktbm90LWZvci11c2U");
+        merged.putAll(properties);
+
+        List<String> args = new ArrayList<>();
+        merged.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new EmbeddedApp(SpringApplication.run(TaskManagementApplication.class, args.toArray(String[]::new)));
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Single-writer latency buffer; each worker owns one per step and they are merged after the
+ * run, so recording never contends.
+ */
+final class LatencyRecorder {
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+    private long rejected;
+
+    /** Records one request; {@code status} is the HTTP status, or -1 if the request failed without one. */
+    void record(long elapsedNanos, int status) {
+        if (status == 429 || status == 503) {
+            rejected++;
+        } else if (status < 200 || status >= 400) {
+            errors++;
+        }
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = elapsedNanos;
+    }
+
+    static Summary summarize(Collection<LatencyRecorder> recorders, long elapsedNanos) {
+        int total = 0;
+        long errors = 0;
+        long rejected = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+            errors += recorder.errors;
+            rejected += recorder.rejected;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.nanos, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+        double seconds = elapsedNanos / 1e9;
+        return new Summary(total, errors, rejected, total / seconds,
+                percentileMillis(all, 50), percentileMillis(all, 95), percentileMillis(all, 99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /** Rejected counts 429/503 load-shedding responses; errors counts every other failure. */
+    record Summary(long requests, long errors, long rejected, double throughput,
+                   double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+}
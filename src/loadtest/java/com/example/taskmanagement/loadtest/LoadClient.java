@@ -0,0 +1,122 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin blocking HTTP client for the task API. Request methods return the status code so the
+ * load loop can count errors without parsing bodies; setup methods parse what they need.
+ */
+final class LoadClient {
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "COMPLETED"};
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    int get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build());
+    }
+
+    int put(String path, Object body) throws IOException, InterruptedException {
+        return send(request(path).PUT(json(body)).header("Content-Type", "application/json").build());
+    }
+
+    int post(String path, Object body) throws IOException, InterruptedException {
+        return send(request(path).POST(json(body)).header("Content-Type", "application/json").build());
+    }
+
+    int delete(String path) throws IOException, InterruptedException {
+        return send(request(path).DELETE().build());
+    }
+
+    /** Posts and parses the body when the status is 200; {@code body} is null otherwise. */
+    Response postForResponse(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+                request(path).POST(json(body)).header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(),
+                response.statusCode() == 200 ? mapper.readTree(response.body()) : null);
+    }
+
+    long signup(String name, String email, String password) throws IOException, InterruptedException {
+        JsonNode response = postForJson("/api/auth/signup", Map.of("name", name, "email", email, "password", password));
+        return response.path("user").path("id").asLong();
+    }
+
+    int login(String email, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", Map.of("email", email, "password", password));
+    }
+
+    /** Creates {@code count} tasks for the user in batches and returns their ids. */
+    List<Long> seedTasks(long userId, int count, int batchSize) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset += batchSize) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(count, offset + batchSize); i++) {
+                batch.add(task(userId, i));
+            }
+            for (JsonNode result : postForJson("/api/tasks/batch", batch).path("results")) {
+                ids.add(result.path("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    static Map<String, Object> task(long userId, int n) {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", "Task " + n);
+        task.put("description", "Load test task " + n + " for user " + userId);
+        task.put("status", STATUSES[n % STATUSES.length]);
+        task.put("dueDate", LocalDate.now().plusDays(n % 60 - 20).toString());
+        task.put("userId", userId);
+        return task;
+    }
+
+    private JsonNode postForJson(String path, Object body) throws IOException, InterruptedException {
+        Response response = postForResponse(path, body);
+        if (response.status() != 200) {
+            throw new IOException("POST " + path + " returned " + response.status());
+        }
+        return response.body();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+    }
+
+    record Response(int status, JsonNode body) {
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
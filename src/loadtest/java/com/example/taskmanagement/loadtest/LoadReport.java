@@ -0,0 +1,49 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/** Machine-readable result of one {@link LoadSuite} invocation; read back by {@link CompareReports}. */
+record LoadReport(String label,
+                  String startedAt,
+                  Environment environment,
+                  Settings settings,
+                  List<Run> runs) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Environment(String javaVersion, int processors, long maxHeapMb) {
+        static Environment current() {
+            return new Environment(Runtime.version().toString(), Runtime.getRuntime().availableProcessors(),
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        }
+    }
+
+    record Settings(int users, int concurrency, long warmupSeconds, long durationSeconds,
+                    Map<String, String> properties) {
+    }
+
+    /** All scenarios against one dataset size. */
+    record Run(int tasksPerUser, List<ScenarioResult> scenarios) {
+    }
+
+    record ScenarioResult(String scenario, LatencyRecorder.Summary total, Map<String, LatencyRecorder.Summary> steps) {
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+}
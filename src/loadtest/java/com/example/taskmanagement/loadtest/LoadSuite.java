@@ -0,0 +1,93 @@
+package com.example.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load suite. For each dataset size it starts the application on a random port with
+ * a fresh in-memory database, seeds users and tasks through the API, runs each scenario in turn
+ * and writes one JSON report for the whole invocation. Runs offline; everything is local.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--tasks-per-user=100,1000 --label=baseline"}
+ * <p>
+ * Options: {@code --scenarios=list-heavy,write-heavy,login-storm --users=50 --tasks-per-user=200
+ * --concurrency=64 --warmup=10s --duration=30s --label --report=<file>}. Application properties
+ * can be overridden with {@code --property.<name>=<value>}, e.g.
+ * {@code --property.spring.profiles.active=virtual-threads}.
+ */
+public final class LoadSuite {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String id : args.string("scenarios", "list-heavy,write-heavy,login-storm").split(",")) {
+            scenarios.add(Scenario.fromId(id.trim()));
+        }
+        int users = args.integer("users", 50);
+        int concurrency = args.integer("concurrency", 64);
+        Duration warmup = args.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = args.duration("duration", Duration.ofSeconds(30));
+        Map<String, String> properties = args.withPrefix("property");
+        Instant startedAt = Instant.now();
+        String label = args.string("label", FILE_TIMESTAMP.format(startedAt));
+        Path reportPath = Path.of(args.string("report", "target/loadtest/reports/" + label + ".json"));
+
+        List<LoadReport.Run> runs = new ArrayList<>();
+        for (String size : args.string("tasks-per-user", "200").split(",")) {
+            int tasksPerUser = Integer.parseInt(size.trim());
+            if (tasksPerUser < 1) {
+                throw new IllegalArgumentException("tasks-per-user must be at least 1");
+            }
+            try (EmbeddedApp app = EmbeddedApp.start("suite-" + tasksPerUser, properties)) {
+                LoadClient client = new LoadClient(app.baseUrl());
+                System.out.printf("Seeding %d users x %d tasks%n", users, tasksPerUser);
+                Dataset data = Dataset.seed(client, users, tasksPerUser);
+
+                List<LoadReport.ScenarioResult> results = new ArrayList<>();
+                for (Scenario scenario : scenarios) {
+                    System.out.printf("Running %s: %d clients, %ss warm-up, %ss measured%n",
+                            scenario.id(), concurrency, warmup.toSeconds(), duration.toSeconds());
+                    ClosedLoopRunner.Result result = ClosedLoopRunner.run(
+                            concurrency, warmup, duration, scenario.steps(client, data, concurrency));
+                    results.add(new LoadReport.ScenarioResult(scenario.id(), result.total(), result.steps()));
+                }
+                runs.add(new LoadReport.Run(tasksPerUser, results));
+                print(tasksPerUser, results);
+            }
+        }
+
+        LoadReport report = new LoadReport(label, startedAt.toString(), LoadReport.Environment.current(),
+                new LoadReport.Settings(users, concurrency, warmup.toSeconds(), duration.toSeconds(), properties),
+                runs);
+        report.write(reportPath);
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+    }
+
+    private static void print(int tasksPerUser, List<LoadReport.ScenarioResult> results) {
+        System.out.println();
+        System.out.printf("%d tasks per user%n", tasksPerUser);
+        System.out.printf("%-26s %9s %7s %8s %9s %8s %8s %8s %9s%n",
+                "scenario/step", "requests", "errors", "shed", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LoadReport.ScenarioResult result : results) {
+            printRow(result.scenario(), result.total());
+            result.steps().forEach((step, summary) -> printRow("  " + step, summary));
+        }
+        System.out.println();
+    }
+
+    private static void printRow(String name, LatencyRecorder.Summary s) {
+        System.out.printf("%-26s %9d %7d %8d %9.0f %8.2f %8.2f %8.2f %9.2f%n", name, s.requests(), s.errors(),
+                s.rejected(), s.throughput(), s.p50Millis(), s.p95Millis(), s.p99Millis(), s.maxMillis());
+    }
+
+    private LoadSuite() {
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Request mixes for the load suite. Weights are relative. */
+enum Scenario {
+    /** Dashboard traffic: full lists (mostly cache hits), keyset pages and single lookups, few writes. */
+    LIST_HEAVY("list-heavy") {
+        @Override
+        List<ClosedLoopRunner.Step> steps(LoadClient client, Dataset data, int concurrency) {
+            return List.of(
+                    new ClosedLoopRunner.Step("list", 55, w -> client.get("/api/tasks?userId=" + randomUser(data))),
+                    new ClosedLoopRunner.Step("page", 25, w -> client.get(
+                            "/api/tasks/page?userId=" + randomUser(data) + "&sort=dueDate&limit=50")),
+                    new ClosedLoopRunner.Step("get", 15, w -> client.get("/api/tasks/" + randomTask(data))),
+                    new ClosedLoopRunner.Step("update", 5, w -> update(client, data)));
+        }
+    },
+    /** Bulk editing: creates, updates and deletes of the worker's own new tasks, with list reads. */
+    WRITE_HEAVY("write-heavy") {
+        @Override
+        List<ClosedLoopRunner.Step> steps(LoadClient client, Dataset data, int concurrency) {
+            List<Deque<Long>> created = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                created.add(new ArrayDeque<>());
+            }
+            return List.of(
+                    new ClosedLoopRunner.Step("create", 30, w -> {
+                        int u = ThreadLocalRandom.current().nextInt(data.users());
+                        LoadClient.Response response = client.postForResponse("/api/tasks",
+                                LoadClient.task(data.userIds()[u], ThreadLocalRandom.current().nextInt(1000)));
+                        JsonNode id = response.body() == null ? null : response.body().get("id");
+                        if (id != null) {
+                            created.get(w).push(id.asLong());
+                        }
+                        return response.status();
+                    }),
+                    new ClosedLoopRunner.Step("update", 40, w -> update(client, data)),
+                    new ClosedLoopRunner.Step("delete", 10, w -> {
+                        Long id = created.get(w).poll();
+                        return id == null ? client.get("/api/tasks/" + randomTask(data))
+                                : client.delete("/api/tasks/" + id);
+                    }),
+                    new ClosedLoopRunner.Step("list", 20, w -> client.get("/api/tasks?userId=" + randomUser(data))));
+        }
+    },
+    /** Everyone signing in at once: BCrypt-bound, with one in ten attempts using a wrong password. */
+    LOGIN_STORM("login-storm") {
+        @Override
+        List<ClosedLoopRunner.Step> steps(LoadClient client, Dataset data, int concurrency) {
+            return List.of(
+                    new ClosedLoopRunner.Step("login", 9, w -> {
+                        int u = ThreadLocalRandom.current().nextInt(data.users());
+                        return client.login(data.emails()[u], data.passwords()[u]);
+                    }),
+                    new ClosedLoopRunner.Step("login-failed", 1, w -> {
+                        int u = ThreadLocalRandom.current().nextInt(data.users());
+                        // A rejected wrong password is the expected outcome; keep 503s visible as shed load
+                        int status = client.login(data.emails()[u], "wrong-" + data.passwords()[u]);
+                        return status == 400 ? 200 : status == 200 ? 500 : status;
+                    }));
+        }
+    };
+
+    private final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    String id() {
+        return id;
+    }
+
+    abstract List<ClosedLoopRunner.Step> steps(LoadClient client, Dataset data, int concurrency);
+
+    static Scenario fromId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + id);
+    }
+
+    private static long randomUser(Dataset data) {
+        return data.userIds()[ThreadLocalRandom.current().nextInt(data.users())];
+    }
+
+    private static long randomTask(Dataset data) {
+        List<Long> ids = data.taskIds().get(ThreadLocalRandom.current().nextInt(data.users()));
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    static int update(LoadClient client, Dataset data) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(data.users());
+        List<Long> ids = data.taskIds().get(u);
+        int n = random.nextInt(ids.size());
+        return client.put("/api/tasks/" + ids.get(n), LoadClient.task(data.userIds()[u], n + random.nextInt(3)));
+    }
+}
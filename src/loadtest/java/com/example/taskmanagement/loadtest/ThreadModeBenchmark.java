@@ -0,0 +1,68 @@
+package com.example.taskmanagement.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the same mixed read/write workload against a platform-thread instance and a
+ * virtual-thread instance (the {@code virtual-threads} Spring profile) and prints throughput
+ * and latency percentiles side by side. Each mode gets a fresh in-memory database.
+ * <p>
+ * Needs JDK 21 for the virtual-thread run:
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.example.taskmanagement.loadtest.ThreadModeBenchmark
+ * -Dloadtest.java=$JAVA21_HOME/bin/java
+ * -Dloadtest.args="--concurrency=1000 --duration=30s"}
+ * <p>
+ * Options: {@code --modes=platform,virtual --concurrency --warmup --duration --users
+ * --tasks-per-user --write-percent}.
+ */
+public final class ThreadModeBenchmark {
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        int concurrency = args.integer("concurrency", 1000);
+        Duration warmup = args.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = args.duration("duration", Duration.ofSeconds(30));
+        int users = args.integer("users", 50);
+        int tasksPerUser = args.integer("tasks-per-user", 200);
+        int writePercent = args.integer("write-percent", 10);
+
+        Map<String, LatencyRecorder.Summary> results = new LinkedHashMap<>();
+        for (String mode : args.string("modes", "platform,virtual").split(",")) {
+            boolean virtual = mode.equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("Skipping virtual mode: running on Java " + Runtime.version().feature());
+                continue;
+            }
+            Map<String, String> properties = virtual
+                    ? Map.of("spring.profiles.active", "virtual-threads")
+                    : Map.of();
+            try (EmbeddedApp app = EmbeddedApp.start(mode, properties)) {
+                System.out.printf("%s: seeding %d users x %d tasks%n", mode, users, tasksPerUser);
+                LoadClient client = new LoadClient(app.baseUrl());
+                Dataset data = Dataset.seed(client, users, tasksPerUser);
+                System.out.printf("%s: %d clients, %ss warm-up, %ss measured%n",
+                        mode, concurrency, warmup.toSeconds(), duration.toSeconds());
+                List<ClosedLoopRunner.Step> steps = List.of(
+                        new ClosedLoopRunner.Step("page", 100 - writePercent, w -> client.get(
+                                "/api/tasks/page?userId=" + data.userIds()[ThreadLocalRandom.current().nextInt(users)]
+                                        + "&sort=dueDate&limit=50")),
+                        new ClosedLoopRunner.Step("update", writePercent, w -> Scenario.update(client, data)));
+                results.put(mode, ClosedLoopRunner.run(concurrency, warmup, duration, steps).total());
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        results.forEach((mode, s) -> System.out.printf("%-10s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f%n",
+                mode, s.requests(), s.errors() + s.rejected(), s.throughput(), s.p50Millis(), s.p95Millis(),
+                s.p99Millis(), s.maxMillis()));
+    }
+
+    private ThreadModeBenchmark() {
+    }
+}
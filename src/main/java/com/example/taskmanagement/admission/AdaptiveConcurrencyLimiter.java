@@ -0,0 +1,84 @@
+package com.example.taskmanagement.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global cap on requests in flight, adjusted AIMD-style from observed latency. Each window the
+ * mean latency of completed requests is compared with the target: above it the limit is cut by
+ * 10%, at or below it the limit grows again, by at least one. While latency is healthy the limit
+ * sits at its maximum and nothing is shed; once the server slows down, excess requests are
+ * turned away immediately instead of queueing behind the slow ones.
+ * <p>
+ * Latency samples go into {@link LongAdder}s and the window is rolled by whichever thread wins a
+ * CAS on its end time, so the request path takes no lock.
+ */
+final class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final long windowNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicLong windowEnd;
+
+    AdaptiveConcurrencyLimiter(AdmissionProperties.Shedding shedding) {
+        if (shedding.getMinLimit() < 1 || shedding.getMaxLimit() < shedding.getMinLimit()) {
+            throw new IllegalArgumentException("app.admission.shedding limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = shedding.getMinLimit();
+        this.maxLimit = shedding.getMaxLimit();
+        this.targetNanos = shedding.getLatencyTarget().toNanos();
+        this.windowNanos = shedding.getWindow().toNanos();
+        this.limit = maxLimit;
+        this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long startNanos) {
+        long now = System.nanoTime();
+        inflight.decrementAndGet();
+        latencySum.add(now - startNanos);
+        samples.increment();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        if (count == 0) {
+            return;
+        }
+        int current = limit;
+        if (sum / count > targetNanos) {
+            limit = Math.max(minLimit, (int) (current * 0.9));
+        } else if (current < maxLimit) {
+            limit = Math.min(maxLimit, current + Math.max(1, current / 20));
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanagement.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State behind {@link AdmissionControlFilter}: the per-client rate limits and the global
+ * concurrency limit, their metrics, and the periodic sweep of idle buckets.
+ */
+@Component
+public class AdmissionControl {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final AdmissionProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<RequestClass, Counter> rateLimited = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> shed = new EnumMap<>(RequestClass.class);
+
+    public AdmissionControl(AdmissionProperties properties, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        // Enough stripes that cores rarely meet on one, at most a few hundred buckets apart
+        this.rateLimiter = new ClientRateLimiter(properties, Runtime.getRuntime().availableProcessors() * 4);
+        this.concurrencyLimiter = properties.getShedding().isEnabled()
+                ? new AdaptiveConcurrencyLimiter(properties.getShedding()) : null;
+        this.excludedPaths = List.copyOf(properties.getShedding().getExcludedPaths());
+        for (RequestClass requestClass : RequestClass.values()) {
+            String tag = requestClass.name().toLowerCase();
+            rateLimited.put(requestClass, Counter.builder("admission.rejected")
+                    .description("Requests turned away by admission control")
+                    .tag("reason", "rate_limit").tag("class", tag)
+                    .register(meterRegistry));
+            shed.put(requestClass, Counter.builder("admission.rejected")
+                    .description("Requests turned away by admission control")
+                    .tag("reason", "overload").tag("class", tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("admission.buckets", rateLimiter, ClientRateLimiter::size)
+                .description("Per-client rate-limit buckets held")
+                .register(meterRegistry);
+        if (concurrencyLimiter != null) {
+            Gauge.builder("admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current cap on requests in flight")
+                    .register(meterRegistry);
+            Gauge.builder("admission.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inflight)
+                    .description("Requests in flight subject to the concurrency cap")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            taskScheduler.scheduleWithFixedDelay(this::sweep, properties.getSweepInterval());
+        }
+    }
+
+    void sweep() {
+        int removed = rateLimiter.sweep(properties.getIdleTimeout().toNanos());
+        if (removed > 0) {
+            logger.debug("Evicted {} idle rate-limit buckets", removed);
+        }
+    }
+
+    /** Returns 0 if the client may proceed, otherwise the nanoseconds until it may. */
+    long tryAcquireRate(RequestClass requestClass, String client) {
+        if (!rateLimiter.isLimited(requestClass)) {
+            return 0;
+        }
+        long wait = rateLimiter.tryAcquire(requestClass, client);
+        if (wait > 0) {
+            rateLimited.get(requestClass).increment();
+        }
+        return wait;
+    }
+
+    boolean isShed(String path) {
+        if (concurrencyLimiter == null) {
+            return false;
+        }
+        for (String pattern : excludedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean tryEnter(RequestClass requestClass) {
+        if (concurrencyLimiter.tryAcquire()) {
+            return true;
+        }
+        shed.get(requestClass).increment();
+        return false;
+    }
+
+    void exit(long startNanos) {
+        concurrencyLimiter.release(startNanos);
+    }
+}
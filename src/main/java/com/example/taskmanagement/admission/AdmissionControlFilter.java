@@ -0,0 +1,89 @@
+package com.example.taskmanagement.admission;
+
+import com.example.taskmanagement.security.TokenPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits API requests per client and sheds load when the server slows down. Runs after
+ * {@code AccessTokenFilter}, so authenticated requests are limited per user and anonymous ones
+ * per remote address; auth endpoints are always limited per address. Rejections are answered at
+ * once: 429 when the client is over its rate, 503 when the server is over its concurrency limit,
+ * both with {@code Retry-After}.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    // Shed requests are retried after the next latency window has had a chance to recover
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        RequestClass requestClass = RequestClass.of(request, path);
+
+        long wait = admissionControl.tryAcquireRate(requestClass, clientKey(request, requestClass));
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L),
+                    "Too many requests");
+            return;
+        }
+
+        if (!admissionControl.isShed(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!admissionControl.tryEnter(requestClass)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, OVERLOAD_RETRY_AFTER_SECONDS,
+                    "Server is overloaded");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionControl.exit(start);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request, RequestClass requestClass) {
+        if (requestClass != RequestClass.AUTH) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal principal) {
+                return "user:" + principal.userId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
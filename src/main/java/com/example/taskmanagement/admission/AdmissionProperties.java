@@ -0,0 +1,67 @@
+package com.example.taskmanagement.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+
+    // Sustained requests per second and burst size, per client (user, or IP when anonymous)
+    private Limit read = new Limit(50, 100);
+
+    private Limit write = new Limit(20, 40);
+
+    // Login and signup are always keyed by IP, so password guessing cannot rotate identities
+    private Limit auth = new Limit(1, 10);
+
+    // A bucket unused for this long is full again and is dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    // Upper bound on buckets held; beyond it new clients of a stripe share one overflow bucket
+    private int maxBuckets = 200_000;
+
+    private Shedding shedding = new Shedding();
+
+    @Data
+    public static class Limit {
+        private double rate;
+
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+    }
+
+    @Data
+    public static class Shedding {
+        private boolean enabled = true;
+
+        // Mean latency per window above which the concurrency limit is cut
+        private Duration latencyTarget = Duration.ofMillis(250);
+
+        private Duration window = Duration.ofSeconds(1);
+
+        private int minLimit = 16;
+
+        private int maxLimit = 1000;
+
+        // Long-running transfers and streams that would skew the latency signal, and would hold a
+        // concurrency slot for as long as they stay open; they are rate limited only
+        private List<String> excludedPaths = new ArrayList<>(List.of(
+                "/api/tasks/*/attachments", "/api/attachments/*/download",
+                "/api/tasks/export", "/api/tasks/feed"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskmanagement.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client and request class, kept in the GCRA form: a bucket is a single
+ * {@link AtomicLong} holding its theoretical arrival time (TAT), the time at which it would be
+ * full again. Admitting a request advances the TAT by one emission interval with a single CAS, so
+ * no lock is taken and two clients never touch the same memory. A client may run ahead of the
+ * clock by at most {@code burst - 1} intervals, so a full bucket admits {@code burst} requests
+ * at once.
+ * <p>
+ * Buckets live in independent stripes, each a {@link ConcurrentHashMap}, so lookups of different
+ * clients do not contend and the idle sweep walks one stripe at a time. A bucket whose TAT lies
+ * in the past is indistinguishable from a new one, so evicting it never loses state. Each stripe
+ * holds a bounded number of buckets; once it is full, new clients of that stripe share one
+ * overflow bucket per class until the sweep frees room, so memory stays bounded even when
+ * client keys are unbounded.
+ */
+final class ClientRateLimiter {
+    private record Key(RequestClass requestClass, String client) {
+    }
+
+    private static final class Stripe {
+        private final Map<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+        // Shared by new clients once the stripe is full, one per request class
+        private final AtomicLong[] overflow = new AtomicLong[RequestClass.values().length];
+
+        private Stripe() {
+            for (int i = 0; i < overflow.length; i++) {
+                overflow[i] = new AtomicLong();
+            }
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int stripeCapacity;
+    private final long[] intervals = new long[RequestClass.values().length];
+    private final long[] tolerances = new long[RequestClass.values().length];
+    // Times are taken relative to this origin so that they stay positive
+    private final long origin = System.nanoTime();
+
+    ClientRateLimiter(AdmissionProperties properties, int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+        this.stripeCapacity = Math.max(1, properties.getMaxBuckets() / count);
+        configure(RequestClass.READ, properties.getRead());
+        configure(RequestClass.WRITE, properties.getWrite());
+        configure(RequestClass.AUTH, properties.getAuth());
+    }
+
+    private void configure(RequestClass requestClass, AdmissionProperties.Limit limit) {
+        long interval = limit.getRate() > 0 ? (long) (1_000_000_000L / limit.getRate()) : 0;
+        intervals[requestClass.ordinal()] = interval;
+        tolerances[requestClass.ordinal()] = interval * (Math.max(1, limit.getBurst()) - 1);
+    }
+
+    boolean isLimited(RequestClass requestClass) {
+        return intervals[requestClass.ordinal()] > 0;
+    }
+
+    /** Takes a token; returns 0 if one was available, otherwise the nanoseconds until one is. */
+    long tryAcquire(RequestClass requestClass, String client) {
+        long now = System.nanoTime() - origin;
+        Key key = new Key(requestClass, client);
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.buckets.size() < stripeCapacity
+                    ? stripe.buckets.computeIfAbsent(key, k -> new AtomicLong())
+                    : stripe.overflow[requestClass.ordinal()];
+        }
+        long interval = intervals[requestClass.ordinal()];
+        long tolerance = tolerances[requestClass.ordinal()];
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long excess = start - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Drops buckets that have been full for at least {@code idleNanos}; returns how many. */
+    int sweep(long idleNanos) {
+        long cutoff = System.nanoTime() - origin - idleNanos;
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            for (Map.Entry<Key, AtomicLong> entry : stripe.buckets.entrySet()) {
+                if (entry.getValue().get() < cutoff && stripe.buckets.remove(entry.getKey(), entry.getValue())) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
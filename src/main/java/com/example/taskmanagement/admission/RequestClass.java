@@ -0,0 +1,18 @@
+package com.example.taskmanagement.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Each class has its own limits and its own bucket per client
+enum RequestClass {
+    READ,
+    WRITE,
+    AUTH;
+
+    static RequestClass of(HttpServletRequest request, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// Ordered just ahead of the transaction interceptor so a cache hit never opens a transaction
+// (and therefore never borrows a JDBC connection). Cached reads use @Cacheable(sync = true) so
+// that they load through GenerationGuardedCache, which keeps stale loads out after an eviction.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    public static final String TASKS = "tasks";
+    public static final String TASK_LISTS = "taskLists";
+
+    @Value("${app.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${app.cache.tasks.max-size:10000}")
+    private long maxTasks;
+
+    @Value("${app.cache.task-lists.max-tasks:200000}")
+    private long maxListedTasks;
+
+    @Bean
+    public CacheManager cacheManager() {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        GenerationGuardedCache tasks = new GenerationGuardedCache(TASKS, Caffeine.newBuilder()
+                .maximumSize(maxTasks)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        // Lists are weighed by their length so a few very large users cannot pin the whole heap
+        GenerationGuardedCache taskLists = new GenerationGuardedCache(TASK_LISTS, Caffeine.newBuilder()
+                .maximumWeight(maxListedTasks)
+                .<Object, Object>weigher((key, value) -> value instanceof Collection<?> c ? c.size() + 1 : 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.setCaches(List.of(tasks, taskLists));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache whose loads cannot resurrect evicted data. Every eviction bumps a generation
+ * for its key (striped, so unrelated keys occasionally share one), and a value loaded through
+ * {@link #get(Object, Callable)} is only stored if the generation is still the one seen before
+ * the load started. A read that ran against the database before a write committed therefore
+ * cannot put its result back after the write's eviction. The check and the store, like the bump
+ * and the removal, run atomically for the key inside Caffeine's {@code compute}; the load itself
+ * runs outside it, so concurrent loads of one key are not coalesced.
+ */
+final class GenerationGuardedCache extends CaffeineCache {
+    private static final int STRIPES = 1024;
+
+    private final Cache<Object, Object> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    GenerationGuardedCache(String name, Cache<Object, Object> entries) {
+        super(name, entries, false);
+        this.entries = entries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = entries.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long generation = generations.get(stripe(key));
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            entries.asMap().compute(key, (k, current) -> generations.get(stripe(k)) == generation ? value : current);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = new boolean[1];
+        entries.asMap().compute(key, (k, current) -> {
+            generations.incrementAndGet(stripe(k));
+            present[0] = current != null;
+            return null;
+        });
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        return super.invalidate();
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} below Java 21; make
+ * that visible instead of running the virtual-threads profile on platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @PostConstruct
+    void checkRuntime() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            logger.warn("spring.threads.virtual.enabled is set but the JVM is Java {}; requests will run on platform threads",
+                    feature);
+        } else {
+            logger.info("Request handling and async work run on virtual threads");
+        }
+    }
+}
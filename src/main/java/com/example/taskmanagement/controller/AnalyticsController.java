@@ -0,0 +1,19 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskAnalyticsDTO;
+import com.example.taskmanagement.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping
+    public TaskAnalyticsDTO getAnalytics(@RequestParam Long userId) {
+        return analyticsService.getAnalytics(userId);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.exception.ServiceOverloadedException;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.model.UserDTO;
 import com.example.taskmanagement.model.UserMapper;
+import com.example.taskmanagement.security.AccessTokenService;
 import com.example.taskmanagement.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
@@ -23,6 +27,8 @@ public class AuthController {
     private AuthService authService;
     @Autowired
     private UserMapper userMapper;
+    @Autowired
+    private AccessTokenService accessTokenService;
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody Map<String, String> signupRequest) {
@@ -44,9 +50,12 @@ public class AuthController {
 
             Map<String, Object> response = new HashMap<>();
             response.put("user", userMapper.toDto(user));
-            response.put("token", "dummy-token"); // In a real app, generate a JWT token here
+            response.put("token", accessTokenService.issue(user.getId()));
 
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            logger.warn("Rejected user registration: {}", e.getMessage());
+            return overloaded(e);
         } catch (RuntimeException e) {
             logger.error("Error during user registration: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -72,12 +81,21 @@ public class AuthController {
 
             Map<String, Object> response = new HashMap<>();
             response.put("user", userMapper.toDto(user));
-            response.put("token", "dummy-token"); // In a real app, generate a JWT token here
+            response.put("token", accessTokenService.issue(user.getId()));
 
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            logger.warn("Rejected user login: {}", e.getMessage());
+            return overloaded(e);
         } catch (RuntimeException e) {
             logger.error("Error during user login: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<?> overloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.security.TokenPrincipal;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+
+/**
+ * Resolves whose tasks a per-user endpoint serves. An authenticated caller is always served their
+ * own, and naming anyone else is refused with 403; unauthenticated requests must name the user.
+ */
+final class RequestedUser {
+
+    private RequestedUser() {
+    }
+
+    static Long resolve(TokenPrincipal principal, Long userId) throws MissingServletRequestParameterException {
+        if (principal == null) {
+            if (userId == null) {
+                throw new MissingServletRequestParameterException("userId", "Long");
+            }
+            return userId;
+        }
+        if (userId != null && !userId.equals(principal.userId())) {
+            throw new AccessDeniedException("Tasks of user " + userId + " belong to another caller");
+        }
+        return principal.userId();
+    }
+}
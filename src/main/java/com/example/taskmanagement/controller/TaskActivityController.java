@@ -0,0 +1,37 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskActivityPageDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.service.TaskActivityLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/{taskId}/activity")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskActivityController {
+    private final TaskActivityLog activityLog;
+
+    // Newest first; changes from the last flush interval may not be visible yet
+    @GetMapping
+    public TaskActivityPageDTO getActivity(@PathVariable Long taskId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        return activityLog.getHistory(taskId, cursor, limit);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
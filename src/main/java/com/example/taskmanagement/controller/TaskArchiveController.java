@@ -0,0 +1,43 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.ArchivedTaskDTO;
+import com.example.taskmanagement.dto.ArchivedTaskPageDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Read-only; archived tasks come back to /api/tasks when they are edited with PUT or PATCH
+@RestController
+@RequestMapping("/api/tasks/archive")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskArchiveController {
+    private final TaskArchiveService archiveService;
+
+    @GetMapping
+    public ArchivedTaskPageDTO getArchivedTasks(@RequestParam Long userId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        return archiveService.getArchivedTasks(userId, cursor, limit);
+    }
+
+    @GetMapping("/{id}")
+    public ArchivedTaskDTO getArchivedTask(@PathVariable Long id) {
+        return archiveService.getArchivedTask(id);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
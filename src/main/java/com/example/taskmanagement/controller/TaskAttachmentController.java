@@ -0,0 +1,186 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskAttachmentDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.service.TaskAttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskAttachmentController {
+    // Tomcat's sendfile hand-off: the connector streams the file with FileChannel.transferTo
+    // from its poller once the handler returns, so no request thread or heap buffer is involved
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Uploaders choose the stored content type, so only types a browser will not execute are
+    // echoed back; anything else (HTML, SVG, XML, ...) is served as application/octet-stream
+    private static final Set<MediaType> SERVED_CONTENT_TYPES = Set.of(
+            MediaType.IMAGE_PNG, MediaType.IMAGE_JPEG, MediaType.IMAGE_GIF, MediaType.valueOf("image/webp"),
+            MediaType.APPLICATION_PDF, MediaType.TEXT_PLAIN, MediaType.valueOf("text/csv"),
+            MediaType.valueOf("application/zip"), MediaType.valueOf("audio/mpeg"), MediaType.valueOf("video/mp4"));
+
+    private final TaskAttachmentService attachmentService;
+
+    @GetMapping("/tasks/{taskId}/attachments")
+    public List<TaskAttachmentDTO> getAttachments(@PathVariable Long taskId) {
+        return attachmentService.getAttachments(taskId);
+    }
+
+    @PostMapping(value = "/tasks/{taskId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public TaskAttachmentDTO uploadMultipart(@PathVariable Long taskId, @RequestParam("file") MultipartFile file)
+            throws IOException {
+        return attachmentService.upload(taskId, file);
+    }
+
+    // Any other body is the file itself, streamed to the blob store as it arrives
+    @PostMapping(value = "/tasks/{taskId}/attachments", consumes = "!" + MediaType.MULTIPART_FORM_DATA_VALUE)
+    public TaskAttachmentDTO uploadRaw(@PathVariable Long taskId,
+                                       @RequestParam String fileName,
+                                       HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType != null && MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(contentType))) {
+            throw new IllegalArgumentException("Send the file as multipart/form-data or as the raw request body");
+        }
+        return attachmentService.upload(taskId, fileName, contentType, request.getInputStream());
+    }
+
+    @DeleteMapping("/attachments/{id}")
+    public ResponseEntity<?> deleteAttachment(@PathVariable Long id) {
+        attachmentService.delete(id);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Serves the content with a strong ETag (the SHA-256) and a single byte range when asked;
+     * multi-range requests get the whole file.
+     */
+    @GetMapping("/attachments/{id}/download")
+    public void download(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        TaskAttachmentService.StoredAttachment stored = attachmentService.getForDownload(id);
+        TaskAttachmentDTO attachment = stored.attachment();
+        Path file = stored.file();
+        if (!Files.isReadable(file)) {
+            throw new EntityNotFoundException("Content of attachment " + id + " is missing");
+        }
+        String etag = "\"" + attachment.getSha256() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = attachment.getFileSize();
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges = rangeHeader != null && (ifRange == null || ifRange.equals(etag))
+                ? parseRanges(rangeHeader) : List.of();
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            if (range.getRangeStart(length) >= length) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentType(servedContentType(attachment.getContentType()));
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        // Other containers: transferTo still avoids copying through a heap buffer of our own
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<?> handleTooLarge(MaxUploadSizeExceededException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", "File is too large"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    private static String servedContentType(String stored) {
+        if (stored != null) {
+            try {
+                MediaType type = MediaType.parseMediaType(stored);
+                if (SERVED_CONTENT_TYPES.contains(new MediaType(type.getType(), type.getSubtype()))) {
+                    return type.toString();
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Served as binary like any other unrecognised type
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // A malformed Range header is ignored rather than rejected (RFC 9110 14.2)
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
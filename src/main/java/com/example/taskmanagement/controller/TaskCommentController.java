@@ -0,0 +1,49 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskCommentDTO;
+import com.example.taskmanagement.dto.TaskCommentPageDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.security.TokenPrincipal;
+import com.example.taskmanagement.service.TaskCommentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/{taskId}/comments")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskCommentController {
+    private final TaskCommentService commentService;
+
+    @GetMapping
+    public TaskCommentPageDTO getComments(@PathVariable Long taskId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        return commentService.getComments(taskId, cursor, limit);
+    }
+
+    // The author is the authenticated caller; unauthenticated requests must name one
+    @PostMapping
+    public TaskCommentDTO addComment(@PathVariable Long taskId,
+                                     @Valid @RequestBody TaskCommentDTO comment,
+                                     @AuthenticationPrincipal TokenPrincipal principal) {
+        Long userId = principal != null ? principal.userId() : comment.getUserId();
+        return commentService.addComment(taskId, userId, comment.getContent());
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.TaskBatchResultDTO;
+import com.example.taskmanagement.dto.TaskChangesDTO;
 import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPageDTO;
+import com.example.taskmanagement.dto.TaskPatchDTO;
+import com.example.taskmanagement.model.TaskStatus;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskFilter;
+import com.example.taskmanagement.security.TokenPrincipal;
 import com.example.taskmanagement.service.TaskService;
 import com.example.taskmanagement.service.AuthService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.context.annotation.Bean;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -19,7 +30,12 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.exception.TaskVersionConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import lombok.RequiredArgsConstructor;
 
@@ -32,18 +48,85 @@ public class TaskController {
     private final AuthService authService;
 
     @GetMapping
-    public List<TaskDTO> getAllTasks(@RequestParam Long userId) {
-        return taskService.getAllTasks(userId);
+    public List<TaskDTO> getAllTasks(@RequestParam(required = false) Long userId,
+                                     @AuthenticationPrincipal TokenPrincipal principal,
+                                     WebRequest request) throws MissingServletRequestParameterException {
+        userId = RequestedUser.resolve(principal, userId);
+        List<TaskDTO> tasks = taskService.getAllTasks(userId);
+        if (request.checkNotModified(listETag(userId, tasks))) {
+            return null;
+        }
+        return tasks;
+    }
+
+    @GetMapping("/changes")
+    public TaskChangesDTO getChanges(@RequestParam(required = false) Long userId,
+                                     @RequestParam(defaultValue = "0") long since,
+                                     @AuthenticationPrincipal TokenPrincipal principal)
+            throws MissingServletRequestParameterException {
+        return taskService.getChanges(RequestedUser.resolve(principal, userId), since);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getTaskPage(@RequestParam(required = false) Long userId,
+                                         @RequestParam(defaultValue = "id") String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @AuthenticationPrincipal TokenPrincipal principal)
+            throws MissingServletRequestParameterException {
+        userId = RequestedUser.resolve(principal, userId);
+        try {
+            TaskPageDTO page = taskService.getTaskPage(userId, sort, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Status may be repeated or comma-separated; date bounds are inclusive
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterTasks(@RequestParam(required = false) Long userId,
+                                         @RequestParam(required = false) Set<TaskStatus> status,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedFrom,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedTo,
+                                         @RequestParam(defaultValue = "id") String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @AuthenticationPrincipal TokenPrincipal principal)
+            throws MissingServletRequestParameterException {
+        userId = RequestedUser.resolve(principal, userId);
+        try {
+            TaskFilter filter = new TaskFilter(userId, status, dueFrom, dueTo,
+                    createdFrom, createdTo, updatedFrom, updatedTo);
+            return ResponseEntity.ok(taskService.filterTasks(filter, sort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/user/{userId}")
-    public List<TaskDTO> getTasksByUser(@PathVariable Long userId) {
-        return taskService.getAllTasks(userId);
+    public List<TaskDTO> getTasksByUser(@PathVariable Long userId,
+                                        @AuthenticationPrincipal TokenPrincipal principal,
+                                        WebRequest request) throws MissingServletRequestParameterException {
+        RequestedUser.resolve(principal, userId);
+        List<TaskDTO> tasks = taskService.getAllTasks(userId);
+        if (request.checkNotModified(listETag(userId, tasks))) {
+            return null;
+        }
+        return tasks;
     }
 
     @GetMapping("/{id}")
-    public TaskDTO getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id);
+    public TaskDTO getTaskById(@PathVariable Long id, WebRequest request) {
+        TaskDTO task = taskService.getTaskById(id);
+        if (request.checkNotModified("W/\"task-" + id + "-" + task.getChangeVersion() + "\"")) {
+            return null;
+        }
+        return task;
     }
 
     @PostMapping
@@ -58,19 +141,77 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        try {
+            TaskBatchResultDTO result = taskService.createTasks(taskDTOs);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        try {
+            TaskBatchResultDTO result = taskService.updateTasks(taskDTOs);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTasks(@RequestBody List<Long> ids) {
+        try {
+            TaskBatchResultDTO result = taskService.deleteTasks(ids);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public TaskDTO updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO) {
         return taskService.updateTask(id, taskDTO);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @Valid @RequestBody TaskPatchDTO patch) {
+        try {
+            return ResponseEntity.ok(taskService.patchTask(id, patch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Long id) {
         taskService.deleteTask(id);
         return ResponseEntity.ok().build();
     }
 
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<?> handleVersionConflict(TaskVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", e.getMessage(), "currentVersion", e.getCurrentVersion()));
+    }
+
+    // A concurrent write landed between an update's read and its flush
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockFailure(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "Task was modified concurrently"));
+    }
+
+    // Static so the configured mapper can be built without a controller instance (see the JMH benchmarks)
     @Bean
-    public ObjectMapper objectMapper() {
+    public static ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         JavaTimeModule javaTimeModule = new JavaTimeModule();
         javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_DATE_TIME));
@@ -82,4 +223,16 @@ public class TaskController {
         mapper.disable(SerializationFeature.WRITE_SELF_REFERENCES_AS_NULL);
         return mapper;
     }
-} 
\ No newline at end of file
+
+    // Derived from the list being served: a create or update raises its highest change version
+    // and a removal shrinks it, so the pair changes whenever the list does
+    private static String listETag(Long userId, List<TaskDTO> tasks) {
+        long maxVersion = tasks.stream()
+                .map(TaskDTO::getChangeVersion)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0L);
+        return "W/\"tasks-" + userId + "-" + tasks.size() + "-" + maxVersion + "\"";
+    }
+}
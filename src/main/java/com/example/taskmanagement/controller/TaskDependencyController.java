@@ -0,0 +1,97 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.exception.DependencyCycleException;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.service.TaskDependencyService;
+import com.example.taskmanagement.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskDependencyController {
+    private final TaskDependencyService dependencyService;
+    private final TaskService taskService;
+
+    @GetMapping("/{id}/dependencies")
+    public List<TaskDTO> getDependencies(@PathVariable Long id) {
+        return dependencyService.getDependencies(id);
+    }
+
+    @PostMapping("/{id}/dependencies")
+    public TaskDTO addDependency(@PathVariable Long id, @RequestBody Map<String, Long> request) {
+        Long dependencyId = request.get("dependencyId");
+        if (dependencyId == null) {
+            throw new IllegalArgumentException("dependencyId is required");
+        }
+        return dependencyService.addDependency(id, dependencyId);
+    }
+
+    @DeleteMapping("/{id}/dependencies/{dependencyId}")
+    public ResponseEntity<?> removeDependency(@PathVariable Long id, @PathVariable Long dependencyId) {
+        dependencyService.removeDependency(id, dependencyId);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/{id}/dependents")
+    public List<TaskDTO> getDependents(@PathVariable Long id) {
+        return dependencyService.getDependents(id);
+    }
+
+    @GetMapping("/{id}/blocked-by")
+    public List<TaskDTO> getBlockedBy(@PathVariable Long id) {
+        return dependencyService.getBlockedBy(id);
+    }
+
+    // direction=upstream: everything the task waits for; downstream: everything waiting for it
+    @GetMapping("/{id}/closure")
+    public List<TaskDTO> getClosure(@PathVariable Long id, @RequestParam(defaultValue = "upstream") String direction) {
+        if (!direction.equals("upstream") && !direction.equals("downstream")) {
+            throw new IllegalArgumentException("direction must be upstream or downstream");
+        }
+        return dependencyService.getClosure(id, direction.equals("upstream"));
+    }
+
+    @GetMapping("/{id}/subtasks")
+    public List<TaskDTO> getSubtasks(@PathVariable Long id) {
+        return dependencyService.getSubtasks(id);
+    }
+
+    @PostMapping("/{id}/subtasks")
+    public TaskDTO createSubtask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
+        return taskService.createSubtask(id, taskDTO);
+    }
+
+    @GetMapping("/graph/order")
+    public List<TaskDTO> getTopologicalOrder(@RequestParam Long userId) {
+        return dependencyService.getTopologicalOrder(userId);
+    }
+
+    @GetMapping("/graph/critical-path")
+    public List<TaskDTO> getCriticalPath(@RequestParam Long userId) {
+        return dependencyService.getCriticalPath(userId);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(EntityNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(DependencyCycleException.class)
+    public ResponseEntity<?> handleCycle(DependencyCycleException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage(), "cycle", e.getCycle()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
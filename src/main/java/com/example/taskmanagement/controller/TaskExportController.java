@@ -0,0 +1,45 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.security.TokenPrincipal;
+import com.example.taskmanagement.service.TaskExportFormat;
+import com.example.taskmanagement.service.TaskExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/export")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskExportController {
+    private final TaskExportService taskExportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(name = "userId", required = false) Long requestedUserId,
+                                                             @RequestParam(defaultValue = "ndjson") String format,
+                                                             @AuthenticationPrincipal TokenPrincipal principal)
+            throws MissingServletRequestParameterException {
+        Long userId = RequestedUser.resolve(principal, requestedUserId);
+        TaskExportFormat exportFormat = TaskExportFormat.fromParam(format);
+
+        // Runs on the MVC async executor after the handler returns, inside its own read-only transaction
+        StreamingResponseBody body = out -> taskExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks-" + userId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.security.TokenPrincipal;
+import com.example.taskmanagement.service.TaskChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/tasks/feed")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskFeedController {
+    private final TaskChangeFeed changeFeed;
+
+    // Clients resend the last event id as a header when they reconnect; "since" lets a client
+    // resume explicitly on its first connection. An authenticated caller only gets their own feed.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long userId,
+                                @RequestParam(required = false) Long since,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                @AuthenticationPrincipal TokenPrincipal principal)
+            throws MissingServletRequestParameterException {
+        return changeFeed.subscribe(RequestedUser.resolve(principal, userId),
+                lastEventId != null ? lastEventId : since);
+    }
+}
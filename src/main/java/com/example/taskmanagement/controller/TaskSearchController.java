@@ -0,0 +1,35 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskSearchResultDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.service.TaskSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/search")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class TaskSearchController {
+    private final TaskSearchService searchService;
+
+    @GetMapping
+    public TaskSearchResultDTO search(@RequestParam Long userId,
+                                      @RequestParam String q,
+                                      @RequestParam(required = false) TaskStatus status,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                      @RequestParam(required = false) Integer limit) {
+        return searchService.search(userId, q, status, dueFrom, dueTo, limit);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.taskmanagement.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the annotated method's reads on the primary even inside a read-only transaction. Meant
+ * for reads whose result outlives the request, such as a cached value or a sync position the
+ * client resumes from: a lagging replica would make that staleness stick rather than pass.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PrimaryOnly {
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread while a {@link PrimaryOnly} method runs; ReplicaRoutingDataSource
+ * checks the mark when the transaction first needs a connection. Without routing the mark is
+ * simply never read. It runs outside the transaction advice, so the mark is already set however
+ * early the transaction takes its connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PrimaryOnlyAspect {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    @Around("@annotation(com.example.taskmanagement.datasource.PrimaryOnly)")
+    public Object onPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Nested calls leave the mark to the outermost one
+        if (ACTIVE.get() != null) {
+            return joinPoint.proceed();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
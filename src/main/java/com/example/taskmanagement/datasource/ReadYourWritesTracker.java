@@ -0,0 +1,68 @@
+package com.example.taskmanagement.datasource;
+
+import com.example.taskmanagement.security.TokenPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently, so their reads can be pinned to the primary. A client
+ * is the authenticated user, or the remote address for anonymous requests; work outside a
+ * request (startup, scheduled jobs) has no client and is never pinned.
+ */
+final class ReadYourWritesTracker {
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    void recordWrite(String client) {
+        pinnedUntil.put(client, System.nanoTime() + windowNanos);
+    }
+
+    boolean isPinned(String client) {
+        Long until = pinnedUntil.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(client, until);
+        return false;
+    }
+
+    // Drops expired entries of clients that have not read since their window closed
+    void sweep() {
+        long now = System.nanoTime();
+        pinnedUntil.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+
+    int size() {
+        return pinnedUntil.size();
+    }
+
+    static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal principal) {
+            return "user:" + principal.userId();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool and one pool per read replica when
+ * {@code app.datasource.routing.enabled} is set. The pools are built here rather than exposed as
+ * beans so that only the routing {@code dataSource} is wrapped by the statement-counting proxy
+ * in MetricsConfig, and each statement is counted once. Both pools read their settings from
+ * {@code spring.datasource.hikari.*}; the primary pool's metrics are bound by Spring Boot through
+ * {@code unwrap}, the replicas' here.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties properties,
+                                 Environment environment, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("app.datasource.routing.enabled requires at least one app.datasource.routing.replicas entry");
+        }
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica config = properties.getReplicas().get(i);
+            String name = "replica-" + i;
+            HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(config.getUrl())
+                    .username(config.getUsername() != null ? config.getUsername() : dataSourceProperties.determineUsername())
+                    .password(config.getPassword() != null ? config.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName(name);
+            if (config.getMaximumPoolSize() != null) {
+                replica.setMaximumPoolSize(config.getMaximumPoolSize());
+            }
+            replica.setConnectionTimeout(properties.getHealthCheckTimeout().toMillis());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, properties, meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently receiving reads")
+                .register(meterRegistry);
+        Gauge.builder("datasource.read-your-writes.pinned", routing, ReplicaRoutingDataSource::pinnedClients)
+                .description("Clients whose reads are pinned to the primary after a recent write")
+                .register(meterRegistry);
+        taskScheduler.scheduleWithFixedDelay(routing::checkHealth, properties.getHealthCheckInterval());
+        return new RoutingDataSourceProxy(routing);
+    }
+
+    // Spring's default for Hibernate holds a session's connection until the session closes, and
+    // with open-in-view the session spans the request: a write after a replica read in the same
+    // request would reuse the replica connection. Releasing it after each transaction lets every
+    // transaction be routed on its own read-only flag.
+    @Bean
+    public HibernatePropertiesCustomizer releaseRoutedConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Fetches the target connection on first use, once the transaction's read-only flag is set.
+    // Closeable so that closing the context closes the pools.
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+        private final ReplicaRoutingDataSource routing;
+
+        RoutingDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() {
+            routing.close();
+        }
+    }
+}
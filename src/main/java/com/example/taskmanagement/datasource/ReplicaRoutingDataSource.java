@@ -0,0 +1,216 @@
+package com.example.taskmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary. The
+ * decision is made when the transaction first needs a connection, which is why this must sit
+ * behind a {@code LazyConnectionDataSourceProxy}: by then the transaction's read-only flag is
+ * known. Reads of a client that committed a write within the read-your-writes window stay on
+ * the primary, as do reads made inside a {@link PrimaryOnly} method.
+ * <p>
+ * Replicas are probed periodically and skipped while down. A replica that fails to hand out a
+ * connection is marked down at once and the read falls back to the primary, so a dead replica
+ * costs at most one connection timeout before the next probe brings it back.
+ */
+final class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String PRIMARY = "primary";
+
+    static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaRoutingProperties.Selection selection;
+    private final ReadYourWritesTracker readYourWrites;
+    private final int healthCheckTimeoutSeconds;
+    // Replicas currently up, replaced whenever one changes state; reads pick from this
+    private volatile Replica[] healthy;
+    // Serializes state changes; a lock rather than synchronized so a virtual thread that marks
+    // a replica down from getConnection does not pin its carrier
+    private final ReentrantLock healthLock = new ReentrantLock();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    ReplicaRoutingDataSource(HikariDataSource primary, List<Replica> replicas, ReplicaRoutingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthy = this.replicas.toArray(Replica[]::new);
+        this.selection = properties.getSelection();
+        this.readYourWrites = new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : this.replicas) {
+            targets.put(replica.name, replica.dataSource);
+        }
+        for (Object target : targets.keySet()) {
+            routed.put((String) target, Counter.builder("datasource.routed")
+                    .description("Connections handed out, by the pool they came from")
+                    .tag("target", (String) target)
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = replicaForCurrentTransaction();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicaForCurrentTransaction();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                routed.get(replica.name).increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+        Connection connection = primary.getConnection();
+        routed.get(PRIMARY).increment();
+        recordWriteOnCommit();
+        return connection;
+    }
+
+    private Replica replicaForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryOnlyAspect.isActive()) {
+            return null;
+        }
+        if (readYourWrites.isEnabled()) {
+            String client = ReadYourWritesTracker.currentClient();
+            if (client != null && readYourWrites.isPinned(client)) {
+                return null;
+            }
+        }
+        return select();
+    }
+
+    private Replica select() {
+        Replica[] candidates = healthy;
+        if (candidates.length == 0) {
+            return null;
+        }
+        if (selection == ReplicaRoutingProperties.Selection.LEAST_CONNECTIONS) {
+            Replica best = candidates[0];
+            int fewest = best.activeConnections();
+            for (int i = 1; i < candidates.length; i++) {
+                int active = candidates[i].activeConnections();
+                if (active < fewest) {
+                    best = candidates[i];
+                    fewest = active;
+                }
+            }
+            return best;
+        }
+        return candidates[Math.floorMod(nextReplica.getAndIncrement(), candidates.length)];
+    }
+
+    // Read-write transactions may write; once one commits, pin its client's reads to the primary
+    private void recordWriteOnCommit() {
+        if (!readYourWrites.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String client = ReadYourWritesTracker.currentClient();
+        if (client == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(client);
+            }
+        });
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean up;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                up = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException | RuntimeException e) {
+                up = false;
+            }
+            if (setHealthy(replica, up)) {
+                logger.warn("Read replica {} is {}", replica.name, up ? "back up" : "down");
+            }
+        }
+        readYourWrites.sweep();
+    }
+
+    private void markDown(Replica replica, Exception e) {
+        if (setHealthy(replica, false)) {
+            logger.warn("Read replica {} is down, reading from the primary: {}", replica.name, e.getMessage());
+        }
+    }
+
+    // Returns whether the state changed
+    private boolean setHealthy(Replica replica, boolean up) {
+        healthLock.lock();
+        try {
+            if (replica.healthy == up) {
+                return false;
+            }
+            replica.healthy = up;
+            healthy = replicas.stream().filter(r -> r.healthy).toArray(Replica[]::new);
+            return true;
+        } finally {
+            healthLock.unlock();
+        }
+    }
+
+    int healthyReplicas() {
+        return healthy.length;
+    }
+
+    int pinnedClients() {
+        return readYourWrites.size();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.taskmanagement.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+    // Off by default: the single spring.datasource.* pool serves everything
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // Also the replicas' connection timeout, so a dead replica fails over quickly
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    // After a client's write commits, its reads go to the primary for this long so they are not
+    // served by a replica that has not caught up yet; zero disables
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    // Username, password and pool size default to the primary's
+    @Data
+    public static class Replica {
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private Integer maximumPoolSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Read-only view of an archived task; editing it with PUT or PATCH restores it first
+@Data
+@NoArgsConstructor
+public class ArchivedTaskDTO {
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    // Always COMPLETED; present so clients can render archived and live tasks alike
+    private TaskStatus status;
+
+    private LocalDate dueDate;
+
+    private LocalDate createdAt;
+
+    private LocalDate updatedAt;
+
+    private Long userId;
+
+    private Long parentId;
+
+    private int commentCount;
+
+    // Send back with the edit that restores the task
+    private Long version;
+
+    private LocalDateTime archivedAt;
+}
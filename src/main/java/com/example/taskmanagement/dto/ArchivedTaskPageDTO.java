@@ -0,0 +1,16 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ArchivedTaskPageDTO {
+    // Newest task first
+    private List<ArchivedTaskDTO> items;
+
+    private int limit;
+
+    // Opaque cursor for the next (older) page, null once the oldest archived task has been returned
+    private String nextCursor;
+}
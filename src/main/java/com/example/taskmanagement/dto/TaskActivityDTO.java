@@ -0,0 +1,43 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.TaskActivity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class TaskActivityDTO {
+    private Long id;
+
+    private Long taskId;
+
+    private TaskActivity.Action action;
+
+    private String field;
+
+    private String oldValue;
+
+    private String newValue;
+
+    private Long actorId;
+
+    private long changeVersion;
+
+    private LocalDateTime occurredAt;
+
+    // Used by JPQL constructor expressions in TaskActivityRepository
+    public TaskActivityDTO(Long id, Long taskId, TaskActivity.Action action, String field, String oldValue,
+                           String newValue, Long actorId, long changeVersion, LocalDateTime occurredAt) {
+        this.id = id;
+        this.taskId = taskId;
+        this.action = action;
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.actorId = actorId;
+        this.changeVersion = changeVersion;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskActivityPageDTO {
+    // Newest first
+    private List<TaskActivityDTO> items;
+
+    private int limit;
+
+    // Opaque cursor for the next (older) page, null once the first change has been returned
+    private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.TaskStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class TaskAnalyticsDTO {
+    private Long userId;
+
+    private long totalTasks;
+
+    private long todoTasks;
+
+    private long inProgressTasks;
+
+    private long completedTasks;
+
+    // Open (not completed) tasks whose due date has passed
+    private long overdueTasks;
+
+    // Mean hours from creation to completion; day granularity until tasks carry timestamps
+    private Double averageCompletionTime;
+
+    private Map<TaskStatus, Long> statusDistribution;
+}
@@ -0,0 +1,19 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TaskAttachmentDTO {
+    private Long id;
+    private Long taskId;
+    private String fileName;
+    private String contentType;
+    private long fileSize;
+
+    // Hex SHA-256 of the content; also the download ETag
+    private String sha256;
+
+    private LocalDateTime createdAt;
+}
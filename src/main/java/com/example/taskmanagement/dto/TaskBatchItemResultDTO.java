@@ -0,0 +1,17 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+@Data
+public class TaskBatchItemResultDTO {
+    // Position of the operation in the request body
+    private int index;
+
+    private Long id;
+
+    private boolean success;
+
+    private TaskDTO task;
+
+    private String message;
+}
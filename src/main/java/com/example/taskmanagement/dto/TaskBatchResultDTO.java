@@ -0,0 +1,34 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TaskBatchResultDTO {
+    private int succeeded;
+
+    private int failed;
+
+    private List<TaskBatchItemResultDTO> results = new ArrayList<>();
+
+    public void addSuccess(int index, Long id, TaskDTO task) {
+        TaskBatchItemResultDTO result = new TaskBatchItemResultDTO();
+        result.setIndex(index);
+        result.setId(id);
+        result.setSuccess(true);
+        result.setTask(task);
+        results.add(result);
+        succeeded++;
+    }
+
+    public void addFailure(int index, Long id, String message) {
+        TaskBatchItemResultDTO result = new TaskBatchItemResultDTO();
+        result.setIndex(index);
+        result.setId(id);
+        result.setMessage(message);
+        results.add(result);
+        failed++;
+    }
+}
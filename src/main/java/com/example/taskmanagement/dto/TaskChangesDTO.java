@@ -0,0 +1,17 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskChangesDTO {
+    // Tasks created or updated after the requested version, in change order
+    private List<TaskDTO> changed;
+
+    // Ids of tasks deleted after the requested version
+    private List<Long> deleted;
+
+    // High-water mark to send as "since" on the next poll
+    private long version;
+}
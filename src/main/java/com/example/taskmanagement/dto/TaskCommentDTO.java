@@ -0,0 +1,39 @@
+package com.example.taskmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class TaskCommentDTO {
+    private Long taskId;
+
+    // Position of the comment within its task, starting at 1
+    private Long seq;
+
+    // Author; taken from the access token when the request carries one
+    private Long userId;
+
+    private String userName;
+
+    @NotBlank(message = "Content is required")
+    @Size(max = 4000, message = "Content must be at most 4000 characters")
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    // Used by JPQL constructor expressions in TaskCommentRepository
+    public TaskCommentDTO(Long taskId, Long seq, Long userId, String userName, String content,
+                          LocalDateTime createdAt) {
+        this.taskId = taskId;
+        this.seq = seq;
+        this.userId = userId;
+        this.userName = userName;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+}
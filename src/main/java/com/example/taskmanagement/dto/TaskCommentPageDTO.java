@@ -0,0 +1,16 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskCommentPageDTO {
+    // Newest first
+    private List<TaskCommentDTO> items;
+
+    private int limit;
+
+    // Opaque cursor for the next (older) page, null once the oldest comment has been returned
+    private String nextCursor;
+}
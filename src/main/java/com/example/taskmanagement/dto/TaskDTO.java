@@ -4,10 +4,12 @@ import com.example.taskmanagement.model.TaskStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class TaskDTO {
     private Long id;
     
@@ -20,8 +22,41 @@ public class TaskDTO {
     private TaskStatus status;
     
     private LocalDate dueDate;
+
+    // Maintained by the server; ignored on create and update
+    private LocalDate createdAt;
+
+    private LocalDate updatedAt;
     
     private Long userId;
     
     private String userName;
-} 
\ No newline at end of file
+
+    // Change version of the last write; doubles as the task's ETag
+    private Long changeVersion;
+
+    // Maintained by the server; ignored on create and update
+    private int commentCount;
+
+    // Optimistic-lock version; when sent back with an update, the update fails with 409 if the
+    // task has been changed since
+    private Long version;
+
+    // Used by JPQL constructor expressions in TaskRepository
+    public TaskDTO(Long id, String title, String description, TaskStatus status, LocalDate dueDate,
+                   LocalDate createdAt, LocalDate updatedAt, Long userId, String userName,
+                   Long changeVersion, int commentCount, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.userName = userName;
+        this.changeVersion = changeVersion;
+        this.commentCount = commentCount;
+        this.version = version;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskFeedEventDTO {
+    // CREATED, UPDATED or DELETED
+    private String type;
+
+    // Change version of the write; also sent as the SSE event id
+    private long version;
+
+    private Long taskId;
+
+    // The task as committed; absent for deletions
+    private TaskDTO task;
+}
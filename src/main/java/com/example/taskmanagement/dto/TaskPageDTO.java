@@ -0,0 +1,17 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+
+    private String sort;
+
+    private int limit;
+
+    // Opaque cursor for the next page, null once the last page has been returned
+    private String nextCursor;
+}
@@ -0,0 +1,51 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Body of {@code PATCH /api/tasks/{id}}. Only the fields present in the JSON are changed; an
+ * explicit null clears the description or due date. {@code version} is the task version the
+ * client last saw; the patch is rejected with 409 if the task has moved on since.
+ */
+public class TaskPatchDTO {
+    @NotNull(message = "version is required")
+    private Long version;
+
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDate dueDate;
+
+    // Jackson calls the setters only for properties present in the body
+    private boolean titleSet;
+    private boolean descriptionSet;
+    private boolean statusSet;
+    private boolean dueDateSet;
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; this.titleSet = true; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; this.descriptionSet = true; }
+
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; this.statusSet = true; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; this.dueDateSet = true; }
+
+    public boolean hasTitle() { return titleSet; }
+    public boolean hasDescription() { return descriptionSet; }
+    public boolean hasStatus() { return statusSet; }
+    public boolean hasDueDate() { return dueDateSet; }
+
+    public boolean isEmpty() {
+        return !titleSet && !descriptionSet && !statusSet && !dueDateSet;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskSearchResultDTO {
+    private String query;
+
+    // Number of matching tasks; items holds only the best-ranked of them
+    private int total;
+
+    private List<TaskSearchHitDTO> items;
+}
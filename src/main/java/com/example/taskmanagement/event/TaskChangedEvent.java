@@ -0,0 +1,46 @@
+package com.example.taskmanagement.event;
+
+/**
+ * Published by {@code TaskService} for every task write. Listeners that maintain derived state
+ * subscribe with {@code @TransactionalEventListener} so they only see committed changes.
+ * {@code before} is null for creations and {@code after} is null for deletions. {@code version}
+ * is the change version the write was stamped with (the tombstone's version for deletions).
+ * <p>
+ * {@code ARCHIVED} and {@code RESTORED} move a task out of and back into the live table; they
+ * look like a deletion and a creation to listeners that only track live tasks, but the task
+ * still exists and listeners that count every task (analytics) should ignore them.
+ */
+public record TaskChangedEvent(Type type, TaskSnapshot before, TaskSnapshot after, long version) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ARCHIVED,
+        RESTORED
+    }
+
+    public static TaskChangedEvent created(TaskSnapshot after) {
+        return new TaskChangedEvent(Type.CREATED, null, after, after.changeVersion());
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(Type.UPDATED, before, after, after.changeVersion());
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot before, long version) {
+        return new TaskChangedEvent(Type.DELETED, before, null, version);
+    }
+
+    public static TaskChangedEvent archived(TaskSnapshot before, long version) {
+        return new TaskChangedEvent(Type.ARCHIVED, before, null, version);
+    }
+
+    public static TaskChangedEvent restored(TaskSnapshot after) {
+        return new TaskChangedEvent(Type.RESTORED, null, after, after.changeVersion());
+    }
+
+    public Long taskId() {
+        return after != null ? after.id() : before.id();
+    }
+}
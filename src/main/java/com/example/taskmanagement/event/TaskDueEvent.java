@@ -0,0 +1,16 @@
+package com.example.taskmanagement.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@code DueDateScheduler} when an open task's reminder day arrives
+ * ({@code DUE_SOON}) and when its due date has passed ({@code OVERDUE}). Each is published at
+ * most once per due date while the application is running; it is not a transactional event.
+ */
+public record TaskDueEvent(Type type, Long taskId, Long userId, LocalDate dueDate) {
+
+    public enum Type {
+        DUE_SOON,
+        OVERDUE
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a task's column values, taken inside the writing transaction so that
+ * after-commit listeners never touch a managed (or lazily loaded) entity.
+ */
+public record TaskSnapshot(Long id,
+                           Long userId,
+                           String title,
+                           String description,
+                           TaskStatus status,
+                           LocalDate dueDate,
+                           LocalDate createdAt,
+                           LocalDate updatedAt,
+                           Long changeVersion,
+                           int commentCount,
+                           long version) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(
+                task.getId(),
+                task.getUser() != null ? task.getUser().getId() : null,
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getChangeVersion(),
+                task.getCommentCount(),
+                task.getVersion());
+    }
+
+    public static TaskSnapshot of(TaskDTO task) {
+        return new TaskSnapshot(
+                task.getId(),
+                task.getUserId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getDueDate(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getChangeVersion(),
+                task.getCommentCount(),
+                task.getVersion());
+    }
+
+    // The same task after a comment was appended under the given change version
+    public TaskSnapshot withCommentAdded(long version) {
+        return new TaskSnapshot(id, userId, title, description, status, dueDate, createdAt, updatedAt,
+                version, commentCount + 1, this.version);
+    }
+}
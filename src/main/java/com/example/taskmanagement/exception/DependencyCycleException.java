@@ -0,0 +1,17 @@
+package com.example.taskmanagement.exception;
+
+import java.util.List;
+
+public class DependencyCycleException extends RuntimeException {
+    private final List<Long> cycle;
+
+    public DependencyCycleException(List<Long> cycle) {
+        super("Dependency would create a cycle: " + cycle.stream().map(String::valueOf)
+                .reduce((a, b) -> a + " -> " + b).orElse(""));
+        this.cycle = cycle;
+    }
+
+    public List<Long> getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanagement.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public TaskVersionConflictException(Long taskId, long expectedVersion, long currentVersion) {
+        super(String.format("Task %d was modified concurrently: expected version %d, current version %d",
+                taskId, expectedVersion, currentVersion));
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
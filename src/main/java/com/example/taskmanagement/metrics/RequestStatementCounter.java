@@ -0,0 +1,30 @@
+package com.example.taskmanagement.metrics;
+
+/**
+ * Counts JDBC statements executed on the current request thread. Only threads inside
+ * {@link StatementCountFilter} have a counter; statements elsewhere (startup, async exports,
+ * background jobs) are not attributed to a request.
+ */
+final class RequestStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    private RequestStatementCounter() {
+    }
+}
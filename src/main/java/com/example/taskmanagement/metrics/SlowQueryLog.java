@@ -0,0 +1,139 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the most recent statements slower than the threshold, with their bound parameters,
+ * for the slowqueries actuator endpoint. When disabled, or for any statement under the
+ * threshold, the cost is one comparison; parameters are only copied for captured statements.
+ * Parameters can hold user data such as titles or password hashes, so only their types are kept
+ * unless {@code include-parameter-values} is set.
+ */
+@Component
+public class SlowQueryLog {
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final int capacity;
+    private final boolean includeParameterValues;
+    private final Counter slowQueries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+
+    public SlowQueryLog(@Value("${app.sql.slow-query.enabled:false}") boolean enabled,
+                        @Value("${app.sql.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${app.sql.slow-query.sample-rate:1.0}") double sampleRate,
+                        @Value("${app.sql.slow-query.capacity:100}") int capacity,
+                        @Value("${app.sql.slow-query.include-parameter-values:false}") boolean includeParameterValues,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.capacity = capacity;
+        this.includeParameterValues = includeParameterValues;
+        this.slowQueries = Counter.builder("jdbc.slow.queries")
+                .description("Statements slower than app.sql.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    void offer(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (!enabled || execution.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        List<String> statements = new ArrayList<>(queries.size());
+        List<List<Object>> parameters = new ArrayList<>();
+        for (QueryInfo query : queries) {
+            statements.add(query.getQuery());
+            for (List<ParameterSetOperation> set : query.getParametersList()) {
+                parameters.add(boundValues(set, includeParameterValues));
+            }
+        }
+        SlowQuery captured = new SlowQuery(Instant.now(), execution.getElapsedTime(), execution.isSuccess(),
+                execution.isBatch() ? execution.getBatchSize() : 0, Thread.currentThread().getName(),
+                statements, parameters);
+        lock.lock();
+        try {
+            if (recent.size() == capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(captured);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Newest first. */
+    public List<SlowQuery> recent() {
+        lock.lock();
+        try {
+            return new ArrayList<>(recent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            recent.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    // Set-parameter calls carry (index, value[, type]); nulls are recorded by setNull. A masked
+    // value is shown as its type, e.g. "<String>"
+    static List<Object> boundValues(List<ParameterSetOperation> set, boolean includeValues) {
+        List<Object> values = new ArrayList<>(set.size());
+        for (ParameterSetOperation operation : set) {
+            Object[] args = operation.getArgs();
+            boolean isNull = operation.getMethod().getName().equals("setNull");
+            if (isNull || args.length < 2 || args[1] == null) {
+                values.add(null);
+            } else {
+                values.add(includeValues ? String.valueOf(args[1]) : "<" + args[1].getClass().getSimpleName() + ">");
+            }
+        }
+        return values;
+    }
+
+    public record SlowQuery(Instant at,
+                            long elapsedMillis,
+                            boolean success,
+                            int batchSize,
+                            String thread,
+                            List<String> statements,
+                            List<List<Object>> parameters) {
+    }
+}
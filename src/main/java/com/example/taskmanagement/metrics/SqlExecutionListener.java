@@ -0,0 +1,38 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Attached to the proxied DataSource (see MetricsConfig). Each execution is one round trip,
+ * so a JDBC batch counts once however many rows it carries.
+ */
+@Component
+public class SqlExecutionListener implements QueryExecutionListener {
+    private final Counter statements;
+    private final SlowQueryLog slowQueryLog;
+
+    public SqlExecutionListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.statements = Counter.builder("jdbc.statements")
+                .description("JDBC statement executions")
+                .register(meterRegistry);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        statements.increment();
+        RequestStatementCounter.increment();
+        slowQueryLog.offer(execution, queries);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times each physical transaction from begin to commit or rollback, tagged with the
+ * transaction name (the @Transactional method). Spring Boot registers listener beans on the
+ * JPA transaction manager; participating inner transactions do not trigger callbacks.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionMetricsListener implements TransactionExecutionListener {
+    private final MeterRegistry meterRegistry;
+    private final Map<TransactionExecution, Timer.Sample> active = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            active.put(transaction, Timer.start(meterRegistry));
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        stop(transaction, commitFailure == null ? "commit" : "commit-failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        stop(transaction, "rollback");
+    }
+
+    private void stop(TransactionExecution transaction, String outcome) {
+        Timer.Sample sample = active.remove(transaction);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder("db.transactions")
+                .description("Transaction duration from begin to completion")
+                .tag("name", transaction.getTransactionName())
+                .tag("read.only", String.valueOf(transaction.isReadOnly()))
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+}
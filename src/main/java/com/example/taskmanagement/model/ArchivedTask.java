@@ -0,0 +1,57 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Completed task moved out of the live table by TaskArchiveService. Keeps the task's id, so
+// comments, attachments and activity rows stay attached, and everything needed to restore it
+// unchanged. Status is not stored: only completed tasks are archived. Rows are moved in and out
+// with plain JDBC (see TaskArchivalRepository); JPA only reads them.
+@Data
+@Entity
+@Table(name = "task_archive", indexes = {
+        @Index(name = "idx_task_archive_user_id", columnList = "user_id, id")
+})
+@NoArgsConstructor
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Restored only if the parent is still live then
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private LocalDate createdAt;
+
+    private LocalDate updatedAt;
+
+    // Version of the archival; the task gets a new one when it is restored
+    @Column(nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private int commentCount;
+
+    @Column(nullable = false)
+    private long lastCommentSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -4,18 +4,36 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_change_version", columnList = "user_id, change_version"),
+        @Index(name = "idx_tasks_parent", columnList = "parent_id"),
+        // Archival candidates (see TaskArchiveService): completed and not updated since a cutoff
+        @Index(name = "idx_tasks_status_updated_at", columnList = "status, updated_at"),
+        // Keyset pages (see TaskRepository) seek within one user in (sort column, id) order
+        @Index(name = "idx_tasks_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_user_status_id", columnList = "user_id, status, id"),
+        // Filtered lists (see TaskFilterRepository) always constrain user_id first, then seek on
+        // the filtered column, so each range filter gets its own user-prefixed index
+        @Index(name = "idx_tasks_user_status_due_date", columnList = "user_id, status, due_date, id"),
+        @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date, id"),
+        @Index(name = "idx_tasks_user_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updated_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -35,10 +53,35 @@ public class Task {
 
     private LocalDate updatedAt;
 
+    // Position of the task's last write in the global change sequence (see ChangeVersionService)
+    private Long changeVersion;
+
+    // Optimistic lock for edits: checked and bumped by every entity update and by the
+    // conditional UPDATE behind PATCH (see TaskPatchRepository)
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Written only by the bulk update in TaskCommentService, never by entity updates, so a
+    // concurrent task edit cannot overwrite a newer count
+    @Column(nullable = false, updatable = false)
+    private int commentCount;
+
+    // Sequence number of the newest comment; comments are keyed by (task id, sequence)
+    @Column(nullable = false, updatable = false)
+    private long lastCommentSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Set on subtasks; dependencies between tasks are kept in task_dependencies (see TaskDependency)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Task parent;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDate.now();
@@ -0,0 +1,58 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per changed field of a task write. Inserted only in JDBC batches by TaskActivityLog,
+// never through JPA; (task_id, change_version, id) is the index newest-first history pages walk
+@Data
+@Entity
+@Table(name = "task_activity", indexes = {
+        @Index(name = "idx_task_activity_task_version", columnList = "task_id, change_version, id")
+})
+@NoArgsConstructor
+public class TaskActivity {
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ARCHIVED,
+        RESTORED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // Owner of the task
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Authenticated caller that made the change, when there was one
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Action action;
+
+    // Changed field for updates; creations record the initial status, so status timelines start
+    // at creation, and deletions, archival and restores record no field
+    private String field;
+
+    private String oldValue;
+
+    private String newValue;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
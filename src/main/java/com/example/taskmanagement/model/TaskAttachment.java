@@ -0,0 +1,38 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Metadata for a file attached to a task; the bytes live in the blob store under sha256
+@Data
+@Entity
+@Table(name = "task_attachments", indexes = {
+        @Index(name = "idx_task_attachments_task", columnList = "task_id"),
+        @Index(name = "idx_task_attachments_sha256", columnList = "sha256")
+})
+@NoArgsConstructor
+public class TaskAttachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_attachment_seq")
+    @SequenceGenerator(name = "task_attachment_seq", sequenceName = "task_attachment_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Append-only; the primary key (task_id, seq) is also the index newest-first pages walk backwards
+@Data
+@Entity
+@Table(name = "task_comments")
+@IdClass(TaskComment.Key.class)
+@NoArgsConstructor
+public class TaskComment implements Persistable<TaskComment.Key> {
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long taskId;
+        private Long seq;
+    }
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 4000)
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    // Keys are assigned, so tell Spring Data a new comment is new instead of letting save() merge
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public Key getId() {
+        return new Key(taskId, seq);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+}
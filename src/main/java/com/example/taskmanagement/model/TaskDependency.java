@@ -0,0 +1,30 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Edge "taskId depends on dependsOnId"; both tasks belong to userId
+@Data
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_dependencies_edge", columnNames = {"task_id", "depends_on_id"}),
+        indexes = @Index(name = "idx_task_dependencies_depends_on", columnList = "depends_on_id"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_dependency_seq")
+    @SequenceGenerator(name = "task_dependency_seq", sequenceName = "task_dependency_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "depends_on_id", nullable = false)
+    private Long dependsOnId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Marker left behind by a deleted task so delta-sync clients learn about the deletion
+@Data
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_user_change_version", columnList = "user_id, change_version")
+})
+@NoArgsConstructor
+public class TaskTombstone implements Persistable<Long> {
+    @Id
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long changeVersion;
+
+    private LocalDateTime deletedAt;
+
+    // The id is the deleted task's, so tell Spring Data a new tombstone is new instead of letting
+    // save() merge, which would select each one first
+    @Transient
+    private boolean persisted;
+
+    public TaskTombstone(Long taskId, Long userId, Long changeVersion, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>, TaskArchivalRepository {
+
+    // Newest first, continuing strictly below the last id of the previous page
+    @Query("select a from ArchivedTask a where a.userId = :userId and a.id < :beforeId order by a.id desc")
+    List<ArchivedTask> findPageBefore(@Param("userId") Long userId, @Param("beforeId") long beforeId, Pageable limit);
+
+    // Archived tasks are completed; analytics adds these to the live table's counts
+
+    @Query("select a.userId, count(a) from ArchivedTask a where :userId is null or a.userId = :userId group by a.userId")
+    List<Object[]> countByUser(@Param("userId") Long userId);
+
+    @Query("select a.userId, a.createdAt, a.updatedAt, count(a) from ArchivedTask a"
+            + " where (:userId is null or a.userId = :userId) and a.createdAt is not null and a.updatedAt is not null"
+            + " group by a.userId, a.createdAt, a.updatedAt")
+    List<Object[]> countByUserAndDates(@Param("userId") Long userId);
+}
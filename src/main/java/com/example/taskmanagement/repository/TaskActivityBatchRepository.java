@@ -0,0 +1,13 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskActivity;
+
+import java.util.List;
+
+/**
+ * Bulk inserts of activity rows as one JDBC batch, bypassing the persistence context.
+ */
+public interface TaskActivityBatchRepository {
+
+    void insertBatch(List<TaskActivity> activities);
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskActivity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// Plain JDBC: the rows are never read back as entities, and an IDENTITY id would make Hibernate
+// insert them one statement at a time
+class TaskActivityBatchRepositoryImpl implements TaskActivityBatchRepository {
+    private static final String INSERT = "insert into task_activity"
+            + " (task_id, user_id, actor_id, action, field, old_value, new_value, change_version, occurred_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<TaskActivity> activities) {
+        jdbcTemplate.batchUpdate(INSERT, activities, activities.size(), (ps, activity) -> {
+            ps.setLong(1, activity.getTaskId());
+            ps.setLong(2, activity.getUserId());
+            if (activity.getActorId() != null) {
+                ps.setLong(3, activity.getActorId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, activity.getAction().name());
+            ps.setString(5, activity.getField());
+            ps.setString(6, activity.getOldValue());
+            ps.setString(7, activity.getNewValue());
+            ps.setLong(8, activity.getChangeVersion());
+            ps.setTimestamp(9, Timestamp.valueOf(activity.getOccurredAt()));
+        });
+    }
+}
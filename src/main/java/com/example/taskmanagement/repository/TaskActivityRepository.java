@@ -0,0 +1,25 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskActivityDTO;
+import com.example.taskmanagement.model.TaskActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskActivityRepository extends JpaRepository<TaskActivity, Long>, TaskActivityBatchRepository {
+    String SELECT_DTO = "select new com.example.taskmanagement.dto.TaskActivityDTO("
+            + "a.id, a.taskId, a.action, a.field, a.oldValue, a.newValue, a.actorId, a.changeVersion, a.occurredAt)"
+            + " from TaskActivity a";
+
+    // Newest first, continuing strictly after the last (change version, id) of the previous page
+    @Query(SELECT_DTO + " where a.taskId = :taskId"
+            + " and (a.changeVersion < :version or (a.changeVersion = :version and a.id < :beforeId))"
+            + " order by a.changeVersion desc, a.id desc")
+    List<TaskActivityDTO> findPageBefore(@Param("taskId") Long taskId, @Param("version") long version,
+                                         @Param("beforeId") long beforeId, Pageable limit);
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.ArchivedTask;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves task rows between the live table and the archive, each direction as one DELETE that
+ * returns the removed rows followed by one batched INSERT.
+ */
+public interface TaskArchivalRepository {
+
+    /**
+     * Removes those of {@code ids} that are still completed, last updated before
+     * {@code updatedBefore} and not linked to other tasks by a subtask or a dependency, and
+     * returns them. Nothing is inserted; see {@link #insertArchived}.
+     */
+    List<ArchivedTask> deleteArchivable(Collection<Long> ids, LocalDate updatedBefore);
+
+    /**
+     * Inserts the tasks into the archive, plus a tombstone for each at its {@code changeVersion}
+     * so delta-sync clients drop it from their live list.
+     */
+    void insertArchived(List<ArchivedTask> tasks);
+
+    /** Removes those of {@code ids} that are archived, and their tombstones, and returns them. */
+    List<ArchivedTask> deleteFromArchive(Collection<Long> ids);
+
+    /**
+     * Inserts the tasks back into the live table as completed, stamped with their
+     * {@code changeVersion}. Parents that are no longer live are dropped.
+     */
+    void insertLive(List<ArchivedTask> tasks);
+}
@@ -0,0 +1,155 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.ArchivedTask;
+import com.example.taskmanagement.model.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Plain JDBC for the same reason as TaskPatchRepositoryImpl: H2's OLD TABLE delta table makes
+// "remove these rows and hand them to me" one statement, so the eligibility check and the move
+// cannot be split by a concurrent edit. Runs in the caller's transaction, on the same connection.
+class TaskArchivalRepositoryImpl implements TaskArchivalRepository {
+    private static final String INSERT_ARCHIVED = "insert into task_archive"
+            + " (id, user_id, parent_id, title, description, due_date, created_at, updated_at,"
+            + " change_version, version, comment_count, last_comment_seq, archived_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TOMBSTONE = "insert into task_tombstones (task_id, user_id, change_version, deleted_at)"
+            + " values (?, ?, ?, ?)";
+
+    // A parent archived or deleted in the meantime becomes null
+    private static final String INSERT_LIVE = "insert into tasks"
+            + " (id, user_id, parent_id, title, description, status, due_date, created_at, updated_at,"
+            + " change_version, version, comment_count, last_comment_seq)"
+            + " values (?, ?, (select p.id from tasks p where p.id = ?), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<ArchivedTask> TASK_ROW = (rs, rowNum) -> {
+        ArchivedTask task = new ArchivedTask();
+        task.setId(rs.getLong("id"));
+        task.setUserId(rs.getLong("user_id"));
+        task.setParentId(rs.getObject("parent_id", Long.class));
+        task.setTitle(rs.getString("title"));
+        task.setDescription(rs.getString("description"));
+        task.setDueDate(rs.getObject("due_date", LocalDate.class));
+        task.setCreatedAt(rs.getObject("created_at", LocalDate.class));
+        task.setUpdatedAt(rs.getObject("updated_at", LocalDate.class));
+        task.setChangeVersion(rs.getLong("change_version"));
+        task.setVersion(rs.getLong("version"));
+        task.setCommentCount(rs.getInt("comment_count"));
+        task.setLastCommentSeq(rs.getLong("last_comment_seq"));
+        return task;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ArchivedTask> deleteArchivable(Collection<Long> ids, LocalDate updatedBefore) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(ids);
+        args.add(TaskStatus.COMPLETED.name());
+        args.add(Date.valueOf(updatedBefore));
+        String sql = "select * from old table (delete from tasks t where t.id in (" + placeholders(ids.size()) + ")"
+                + " and t.status = ? and t.updated_at < ?"
+                + " and not exists (select 1 from tasks c where c.parent_id = t.id)"
+                + " and not exists (select 1 from task_dependencies d where d.task_id = t.id)"
+                + " and not exists (select 1 from task_dependencies d where d.depends_on_id = t.id))";
+        return jdbcTemplate.query(sql, TASK_ROW, args.toArray());
+    }
+
+    @Override
+    public void insertArchived(List<ArchivedTask> tasks) {
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVED, tasks, tasks.size(), (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setLong(2, task.getUserId());
+            setNullableLong(ps, 3, task.getParentId());
+            ps.setString(4, task.getTitle());
+            ps.setString(5, task.getDescription());
+            ps.setObject(6, task.getDueDate() != null ? Date.valueOf(task.getDueDate()) : null, Types.DATE);
+            ps.setObject(7, task.getCreatedAt() != null ? Date.valueOf(task.getCreatedAt()) : null, Types.DATE);
+            ps.setObject(8, task.getUpdatedAt() != null ? Date.valueOf(task.getUpdatedAt()) : null, Types.DATE);
+            ps.setLong(9, task.getChangeVersion());
+            ps.setLong(10, task.getVersion());
+            ps.setInt(11, task.getCommentCount());
+            ps.setLong(12, task.getLastCommentSeq());
+            ps.setTimestamp(13, Timestamp.valueOf(task.getArchivedAt()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE, tasks, tasks.size(), (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setLong(2, task.getUserId());
+            ps.setLong(3, task.getChangeVersion());
+            ps.setTimestamp(4, Timestamp.valueOf(task.getArchivedAt()));
+        });
+    }
+
+    @Override
+    public List<ArchivedTask> deleteFromArchive(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String in = placeholders(ids.size());
+        List<ArchivedTask> tasks = jdbcTemplate.query("select * from old table (delete from task_archive where id in (" + in + "))",
+                (rs, rowNum) -> {
+                    ArchivedTask task = TASK_ROW.mapRow(rs, rowNum);
+                    task.setArchivedAt(rs.getObject("archived_at", LocalDateTime.class));
+                    return task;
+                }, ids.toArray());
+        if (!tasks.isEmpty()) {
+            // The restored task gets a newer change version, which delta sync reports as changed
+            jdbcTemplate.update("delete from task_tombstones where task_id in (" + in + ")", ids.toArray());
+        }
+        return tasks;
+    }
+
+    @Override
+    public void insertLive(List<ArchivedTask> tasks) {
+        // Parents before their subtasks, so a parent restored in the same batch is found
+        List<ArchivedTask> ordered = tasks.stream()
+                .sorted(Comparator.comparing(ArchivedTask::getId))
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_LIVE, ordered, ordered.size(), (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setLong(2, task.getUserId());
+            setNullableLong(ps, 3, task.getParentId());
+            ps.setString(4, task.getTitle());
+            ps.setString(5, task.getDescription());
+            ps.setString(6, TaskStatus.COMPLETED.name());
+            ps.setObject(7, task.getDueDate() != null ? Date.valueOf(task.getDueDate()) : null, Types.DATE);
+            ps.setObject(8, task.getCreatedAt() != null ? Date.valueOf(task.getCreatedAt()) : null, Types.DATE);
+            ps.setObject(9, task.getUpdatedAt() != null ? Date.valueOf(task.getUpdatedAt()) : null, Types.DATE);
+            ps.setLong(10, task.getChangeVersion());
+            ps.setLong(11, task.getVersion());
+            ps.setInt(12, task.getCommentCount());
+            ps.setLong(13, task.getLastCommentSeq());
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+    List<TaskAttachment> findByTaskIdOrderById(Long taskId);
+
+    // A blob may be removed from the store once no attachment row refers to it
+    boolean existsBySha256(String sha256);
+
+    @Query("select distinct a.sha256 from TaskAttachment a where a.taskId in :taskIds")
+    List<String> findHashesByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("delete from TaskAttachment a where a.taskId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskCommentDTO;
+import com.example.taskmanagement.model.TaskComment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskCommentRepository extends JpaRepository<TaskComment, TaskComment.Key> {
+    String SELECT_DTO = "select new com.example.taskmanagement.dto.TaskCommentDTO("
+            + "c.taskId, c.seq, c.userId, u.name, c.content, c.createdAt)"
+            + " from TaskComment c left join User u on u.id = c.userId";
+
+    // Newest first, continuing strictly below the last sequence of the previous page
+    @Query(SELECT_DTO + " where c.taskId = :taskId and c.seq < :beforeSeq order by c.seq desc")
+    List<TaskCommentDTO> findPageBefore(@Param("taskId") Long taskId, @Param("beforeSeq") long beforeSeq,
+                                        Pageable limit);
+
+    @Modifying
+    @Query("delete from TaskComment c where c.taskId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
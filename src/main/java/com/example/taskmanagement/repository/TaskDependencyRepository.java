@@ -0,0 +1,28 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+    // Loaded once at startup to build the in-memory graph: userId, taskId, dependsOnId,
+    // then the status and due date of both ends
+    @Query("select d.userId, d.taskId, t.status, t.dueDate, d.dependsOnId, p.status, p.dueDate"
+            + " from TaskDependency d, Task t, Task p where t.id = d.taskId and p.id = d.dependsOnId")
+    List<Object[]> findAllEdges();
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.taskId = :taskId and d.dependsOnId = :dependsOnId")
+    int deleteEdge(@Param("taskId") Long taskId, @Param("dependsOnId") Long dependsOnId);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.taskId in :taskIds or d.dependsOnId in :taskIds")
+    int deleteAllTouching(@Param("taskIds") Collection<Long> taskIds);
+}
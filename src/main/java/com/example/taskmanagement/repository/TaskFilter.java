@@ -0,0 +1,104 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Conditions of a filtered task list. Every condition is optional except the owner; date bounds
+ * are inclusive, and a task without a value for a bounded date never matches that bound.
+ */
+public record TaskFilter(Long userId,
+                         Set<TaskStatus> statuses,
+                         LocalDate dueFrom,
+                         LocalDate dueTo,
+                         LocalDate createdFrom,
+                         LocalDate createdTo,
+                         LocalDate updatedFrom,
+                         LocalDate updatedTo) {
+
+    public TaskFilter {
+        statuses = statuses != null ? Set.copyOf(statuses) : Set.of();
+        requireOrdered("due", dueFrom, dueTo);
+        requireOrdered("created", createdFrom, createdTo);
+        requireOrdered("updated", updatedFrom, updatedTo);
+    }
+
+    // True if a bound on the field already rules out tasks without a value for it
+    boolean bounds(SortField field) {
+        return switch (field) {
+            case DUE_DATE -> dueFrom != null || dueTo != null;
+            case CREATED_AT -> createdFrom != null || createdTo != null;
+            case UPDATED_AT -> updatedFrom != null || updatedTo != null;
+            case ID, TITLE, STATUS -> false;
+        };
+    }
+
+    private static void requireOrdered(String name, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException(name + "From must not be after " + name + "To");
+        }
+    }
+
+    /** Columns a filtered list can be sorted by; the param doubles as the entity attribute. */
+    public enum SortField {
+        ID("id", false),
+        TITLE("title", false),
+        STATUS("status", false),
+        DUE_DATE("dueDate", true),
+        CREATED_AT("createdAt", true),
+        UPDATED_AT("updatedAt", true);
+
+        private final String param;
+        private final boolean nullable;
+
+        SortField(String param, boolean nullable) {
+            this.param = param;
+            this.nullable = nullable;
+        }
+
+        public String param() {
+            return param;
+        }
+
+        public boolean nullable() {
+            return nullable;
+        }
+
+        public Object valueOf(TaskDTO task) {
+            return switch (this) {
+                case ID -> task.getId();
+                case TITLE -> task.getTitle();
+                case STATUS -> task.getStatus();
+                case DUE_DATE -> task.getDueDate();
+                case CREATED_AT -> task.getCreatedAt();
+                case UPDATED_AT -> task.getUpdatedAt();
+            };
+        }
+
+        // Inverse of String.valueOf(valueOf(task)) for non-null values
+        public Object parse(String value) {
+            return switch (this) {
+                case ID -> Long.valueOf(value);
+                case TITLE -> value;
+                case STATUS -> TaskStatus.valueOf(value);
+                case DUE_DATE, CREATED_AT, UPDATED_AT -> LocalDate.parse(value);
+            };
+        }
+
+        public static SortField fromParam(String param) {
+            for (SortField field : values()) {
+                if (field.param.equalsIgnoreCase(param)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + param);
+        }
+    }
+
+    /** One sort key; missing values sort last in either direction. */
+    public record Order(SortField field, boolean descending) {
+    }
+}
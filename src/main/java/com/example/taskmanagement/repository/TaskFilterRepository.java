@@ -0,0 +1,20 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+
+import java.util.List;
+
+/**
+ * Filtered task lists. The conditions and sort are only known at request time, so the query is
+ * built with the Criteria API instead of one derived method per combination.
+ */
+public interface TaskFilterRepository {
+
+    /**
+     * Returns up to {@code limit} tasks matching {@code filter} in {@code orders} order. The last
+     * order must be on a unique column. When {@code after} is given (one value per order, taken
+     * from the last row of the previous page) the page continues strictly after that row. A page
+     * that crosses from present to missing values of a nullable first sort key takes two queries.
+     */
+    List<TaskDTO> findFiltered(TaskFilter filter, List<TaskFilter.Order> orders, List<Object> after, int limit);
+}
@@ -0,0 +1,133 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class TaskFilterRepositoryImpl implements TaskFilterRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows read by one query: all of them, or those with or without a value for the first sort key
+    private enum Bucket { ALL, PRESENT, MISSING }
+
+    @Override
+    public List<TaskDTO> findFiltered(TaskFilter filter, List<TaskFilter.Order> orders, List<Object> after, int limit) {
+        TaskFilter.SortField lead = orders.get(0).field();
+        if (!lead.nullable() || filter.bounds(lead)) {
+            return select(filter, orders, after, Bucket.ALL, limit);
+        }
+        // Missing values sort last but sit at one end of the index, so a single query over both
+        // could only seek on user_id. Reading the present values and then the missing ones lets
+        // each query seek its own range; the second only runs when the first ends the bucket.
+        List<TaskDTO> tasks = new ArrayList<>();
+        if (after == null || after.get(0) != null) {
+            tasks.addAll(select(filter, orders, after, Bucket.PRESENT, limit));
+            if (tasks.size() == limit) {
+                return tasks;
+            }
+            after = null;
+        }
+        tasks.addAll(select(filter, orders, after, Bucket.MISSING, limit - tasks.size()));
+        return tasks;
+    }
+
+    private List<TaskDTO> select(TaskFilter filter, List<TaskFilter.Order> orders, List<Object> after,
+                                 Bucket bucket, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> user = task.join("user");
+        // Same shape as TaskRepository.SELECT_DTO
+        query.select(cb.construct(TaskDTO.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("status"),
+                task.get("dueDate"), task.get("createdAt"), task.get("updatedAt"),
+                user.get("id"), user.get("name"), task.get("changeVersion"), task.get("commentCount"),
+                task.get("version")));
+
+        // Compare the foreign key column itself so the database can seek the user-prefixed indexes
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(task.get("user").get("id"), filter.userId()));
+        if (filter.statuses().size() == 1) {
+            // An equality, unlike IN, leaves the rest of idx_tasks_user_status_* free for the sort key
+            where.add(cb.equal(task.get("status"), filter.statuses().iterator().next()));
+        } else if (!filter.statuses().isEmpty()) {
+            where.add(task.get("status").in(filter.statuses()));
+        }
+        addRange(cb, where, task.get("dueDate"), filter.dueFrom(), filter.dueTo());
+        addRange(cb, where, task.get("createdAt"), filter.createdFrom(), filter.createdTo());
+        addRange(cb, where, task.get("updatedAt"), filter.updatedFrom(), filter.updatedTo());
+        Path<?> leadPath = task.get(orders.get(0).field().param());
+        if (bucket == Bucket.PRESENT) {
+            where.add(cb.isNotNull(leadPath));
+        } else if (bucket == Bucket.MISSING) {
+            where.add(cb.isNull(leadPath));
+        }
+        if (after != null) {
+            where.add(after(cb, task, orders, after, 0));
+        }
+        query.where(where.toArray(Predicate[]::new));
+
+        List<Order> orderBy = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            TaskFilter.Order order = orders.get(i);
+            Path<?> path = task.get(order.field().param());
+            // The first key is all present or all missing within one query, so it sorts plainly
+            if (order.field().nullable() && i > 0) {
+                orderBy.add(order.descending() ? cb.desc(path, false) : cb.asc(path, false));
+            } else {
+                orderBy.add(order.descending() ? cb.desc(path) : cb.asc(path));
+            }
+        }
+        query.orderBy(orderBy);
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static void addRange(HibernateCriteriaBuilder cb, List<Predicate> where, Path<LocalDate> path,
+                                 LocalDate from, LocalDate to) {
+        if (from != null) {
+            where.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            where.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+
+    // Keyset condition for "sorts after the given row" on the keys from index i on, nested as
+    // key >= value and (key > value or <the same for the next key>) so the database can seek the
+    // first key's range instead of evaluating one alternative per key. Missing values sort last,
+    // so after a null only nulls remain for that key, and any null sorts after a present value.
+    // One query never reads the first key both with and without a value (see findFiltered).
+    @SuppressWarnings("unchecked")
+    private static Predicate after(HibernateCriteriaBuilder cb, Root<Task> task, List<TaskFilter.Order> orders,
+                                   List<Object> values, int i) {
+        TaskFilter.Order order = orders.get(i);
+        Path<Comparable<Object>> path = task.get(order.field().param());
+        Comparable<Object> value = (Comparable<Object>) values.get(i);
+        boolean last = i == orders.size() - 1;
+        if (value == null) {
+            return last ? cb.disjunction()
+                    : cb.and(cb.isNull(path), after(cb, task, orders, values, i + 1));
+        }
+        Predicate past = order.descending() ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+        Predicate seek = last ? past : cb.and(
+                order.descending() ? cb.lessThanOrEqualTo(path, value) : cb.greaterThanOrEqualTo(path, value),
+                cb.or(past, after(cb, task, orders, values, i + 1)));
+        return i > 0 && order.field().nullable() ? cb.or(seek, cb.isNull(path)) : seek;
+    }
+}
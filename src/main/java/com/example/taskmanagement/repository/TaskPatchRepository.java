@@ -0,0 +1,21 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPatchDTO;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Partial task updates as a single conditional statement, without loading the entity first.
+ */
+public interface TaskPatchRepository {
+
+    /**
+     * Writes the fields present in {@code patch}, plus {@code updatedAt} and
+     * {@code changeVersion}, if the task is still at {@code patch.getVersion()}, and bumps its
+     * version. Returns the task as it was before the update, or empty if no task with that id
+     * and version exists.
+     */
+    Optional<TaskDTO> patchIfVersion(long id, TaskPatchDTO patch, long changeVersion, LocalDate updatedAt);
+}
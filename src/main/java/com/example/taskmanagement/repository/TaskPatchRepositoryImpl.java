@@ -0,0 +1,68 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPatchDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Plain JDBC: JPQL has no way to return the previous row from an UPDATE. H2's OLD TABLE delta
+// table does, so the version check, the write and the "before" image for the change event are
+// one statement. It runs in the caller's JPA transaction, on the same connection.
+class TaskPatchRepositoryImpl implements TaskPatchRepository {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<TaskDTO> patchIfVersion(long id, TaskPatchDTO patch, long changeVersion, LocalDate updatedAt) {
+        StringBuilder set = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (patch.hasTitle()) {
+            set.append("title = ?, ");
+            args.add(patch.getTitle());
+        }
+        if (patch.hasDescription()) {
+            set.append("description = ?, ");
+            args.add(patch.getDescription());
+        }
+        if (patch.hasStatus()) {
+            set.append("status = ?, ");
+            args.add(patch.getStatus().name());
+        }
+        if (patch.hasDueDate()) {
+            set.append("due_date = ?, ");
+            args.add(patch.getDueDate() != null ? Date.valueOf(patch.getDueDate()) : null);
+        }
+        set.append("updated_at = ?, change_version = ?, version = version + 1");
+        args.add(Date.valueOf(updatedAt));
+        args.add(changeVersion);
+        args.add(id);
+        args.add(patch.getVersion());
+
+        // Same shape as TaskRepository.SELECT_DTO; the join only reads the owner's name
+        String sql = "select t.id, t.title, t.description, t.status, t.due_date, t.created_at, t.updated_at,"
+                + " t.user_id, u.name, t.change_version, t.comment_count, t.version"
+                + " from old table (update tasks set " + set + " where id = ? and version = ?) t"
+                + " join users u on u.id = t.user_id";
+        List<TaskDTO> before = jdbcTemplate.query(sql, (rs, rowNum) -> new TaskDTO(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getObject("created_at", LocalDate.class),
+                rs.getObject("updated_at", LocalDate.class),
+                rs.getLong("user_id"),
+                rs.getString("name"),
+                rs.getObject("change_version", Long.class),
+                rs.getInt("comment_count"),
+                rs.getLong("version")), args.toArray());
+        return before.stream().findFirst();
+    }
+}
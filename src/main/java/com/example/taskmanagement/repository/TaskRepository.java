@@ -1,13 +1,167 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.TaskDTO;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskStatus;
 import com.example.taskmanagement.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFilterRepository, TaskPatchRepository {
     List<Task> findByUser(User user);
     List<Task> findByUserId(Long userId);
-} 
\ No newline at end of file
+
+    // Read paths build TaskDTOs straight from a join with users, so no Task or User entity is
+    // managed and listing N tasks is one statement instead of 1 + N lazy user loads.
+    String SELECT_DTO = "select new com.example.taskmanagement.dto.TaskDTO("
+            + "t.id, t.title, t.description, t.status, t.dueDate, t.createdAt, t.updatedAt,"
+            + " u.id, u.name, t.changeVersion, t.commentCount, t.version)"
+            + " from Task t join t.user u";
+
+    @Query(SELECT_DTO + " where t.id = :id")
+    Optional<TaskDTO> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where u.id = :userId order by t.id")
+    List<TaskDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + " order by t.id")
+    List<TaskDTO> findAllDtos();
+
+    @Query(SELECT_DTO + " where t.id in :ids")
+    List<TaskDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_DTO + " where t.parent.id = :parentId order by t.id")
+    List<TaskDTO> findDtosByParentId(@Param("parentId") Long parentId);
+
+    // Subtasks outlive their parent; clear the link before the parent row is deleted
+    @Modifying
+    @Query("update Task t set t.parent = null where t.parent.id in :parentIds")
+    int detachSubtasks(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.changeVersion > :since and t.changeVersion <= :until"
+            + " order by t.changeVersion")
+    List<TaskDTO> findDtosChangedBetween(@Param("userId") Long userId, @Param("since") long since,
+                                         @Param("until") long until);
+
+    @Query("select coalesce(max(t.changeVersion), 0) from Task t")
+    long findMaxChangeVersion();
+
+    @Query("select t.user.id, max(t.changeVersion) from Task t where t.changeVersion is not null group by t.user.id")
+    List<Object[]> findMaxChangeVersionByUser();
+
+    // Held by writers that attach rows to a task, so they serialize with the task's deletion
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> lockById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids")
+    List<Task> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Appends a comment slot without touching any other column; the row lock orders appends
+    @Modifying
+    @Query("update Task t set t.lastCommentSeq = t.lastCommentSeq + 1, t.commentCount = t.commentCount + 1,"
+            + " t.changeVersion = :version where t.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("version") long version);
+
+    // Tells a failed conditional update apart: missing task or stale version
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select t from Task t join fetch t.user where t.id = :id")
+    Optional<Task> findWithUserById(@Param("id") Long id);
+
+    @Query("select t from Task t join fetch t.user where t.id in :ids")
+    List<Task> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset (seek) pages: each query continues strictly after the last row of the previous
+    // page, so page N costs the same as page 1. The Pageable only carries the row limit. Seeks
+    // are written as one range on the sort column (">= value") plus a tie-break filter that only
+    // touches rows sharing the cursor's value, so the user-prefixed index is entered once at the
+    // cursor; an OR of ranges would make H2 scan the user's whole index range.
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.id > :afterId order by t.id")
+    List<TaskDTO> findPageOrderById(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable limit);
+
+    // Due-date order is two buckets: dated tasks by (dueDate, id), then undated ones by id
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.dueDate is not null order by t.dueDate, t.id")
+    List<TaskDTO> findFirstPageWithDueDate(@Param("userId") Long userId, Pageable limit);
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.dueDate >= :dueDate"
+            + " and (t.dueDate > :dueDate or t.id > :afterId)"
+            + " order by t.dueDate, t.id")
+    List<TaskDTO> findPageWithDueDateAfter(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate,
+                                           @Param("afterId") long afterId, Pageable limit);
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.dueDate is null and t.id > :afterId order by t.id")
+    List<TaskDTO> findPageWithoutDueDate(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable limit);
+
+    @Query(SELECT_DTO + " where u.id = :userId order by t.status, t.id")
+    List<TaskDTO> findFirstPageOrderByStatus(@Param("userId") Long userId, Pageable limit);
+
+    @Query(SELECT_DTO + " where u.id = :userId and t.status >= :status"
+            + " and (t.status > :status or t.id > :afterId)"
+            + " order by t.status, t.id")
+    List<TaskDTO> findPageOrderByStatus(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                        @Param("afterId") long afterId, Pageable limit);
+
+    // Full scan used once at startup to build the search index; consume inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " order by t.id")
+    Stream<TaskDTO> streamAllDtos();
+
+    // Open tasks with a due date as (id, user id, due date), loaded once at startup by the
+    // due-date scheduler; consume inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t.id, t.user.id, t.dueDate from Task t where t.status <> :completed and t.dueDate is not null")
+    Stream<Object[]> streamOpenDueDates(@Param("completed") TaskStatus completed);
+
+    // Archival candidates in id order; TaskArchivalRepository.deleteArchivable re-checks each
+    // one as it moves it
+    @Query("select t.id from Task t where t.status = :completed and t.updatedAt < :updatedBefore and t.id > :afterId"
+            + " and not exists (select 1 from Task c where c.parent = t)"
+            // One NOT EXISTS per side, so each probes its own index on task_dependencies
+            + " and not exists (select 1 from TaskDependency d where d.taskId = t.id)"
+            + " and not exists (select 1 from TaskDependency d where d.dependsOnId = t.id)"
+            + " order by t.id")
+    List<Long> findArchivableIds(@Param("completed") TaskStatus completed, @Param("updatedBefore") LocalDate updatedBefore,
+                                 @Param("afterId") long afterId, Pageable limit);
+
+    // Forward-only cursor for bulk export; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " where u.id = :userId order by t.id")
+    Stream<TaskDTO> streamDtosByUserId(@Param("userId") Long userId);
+
+    // Aggregates used to rebuild in-memory analytics; a null userId covers all users
+
+    @Query("select t.user.id, t.status, count(t) from Task t"
+            + " where :userId is null or t.user.id = :userId group by t.user.id, t.status")
+    List<Object[]> countByUserAndStatus(@Param("userId") Long userId);
+
+    @Query("select t.user.id, t.dueDate, count(t) from Task t"
+            + " where (:userId is null or t.user.id = :userId) and t.status <> :completed and t.dueDate is not null"
+            + " group by t.user.id, t.dueDate")
+    List<Object[]> countOpenByUserAndDueDate(@Param("userId") Long userId, @Param("completed") TaskStatus completed);
+
+    @Query("select t.user.id, t.createdAt, t.updatedAt, count(t) from Task t"
+            + " where (:userId is null or t.user.id = :userId) and t.status = :completed"
+            + " and t.createdAt is not null and t.updatedAt is not null"
+            + " group by t.user.id, t.createdAt, t.updatedAt")
+    List<Object[]> countCompletedByUserAndDates(@Param("userId") Long userId, @Param("completed") TaskStatus completed);
+}
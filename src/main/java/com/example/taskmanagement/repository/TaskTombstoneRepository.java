@@ -0,0 +1,22 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    @Query("select t.taskId from TaskTombstone t where t.userId = :userId"
+            + " and t.changeVersion > :since and t.changeVersion <= :until order by t.changeVersion")
+    List<Long> findDeletedTaskIds(@Param("userId") Long userId, @Param("since") long since, @Param("until") long until);
+
+    @Query("select coalesce(max(t.changeVersion), 0) from TaskTombstone t")
+    long findMaxChangeVersion();
+
+    @Query("select t.userId, max(t.changeVersion) from TaskTombstone t group by t.userId")
+    List<Object[]> findMaxChangeVersionByUser();
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanagement.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.tokens")
+public class AccessTokenProperties {
+    // Base64 HMAC secrets by key id. Every listed key is accepted; only the active one signs,
+    // so keys are rotated by adding a new key, switching activeKeyId, then dropping the old one.
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    private String activeKeyId;
+
+    private Duration ttl = Duration.ofHours(12);
+
+    // When true, /api/** (other than /api/auth/**) rejects requests without a valid token
+    private boolean required = false;
+
+    private long cacheSize = 100_000;
+}
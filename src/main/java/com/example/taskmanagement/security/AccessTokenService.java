@@ -0,0 +1,139 @@
+package com.example.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 access tokens of the form
+ * {@code keyId.userId.expiresEpochSecond.signature}. Verification needs only the configured
+ * keys, never the database, and the parsed principal is cached until the token expires.
+ */
+@Service
+public class AccessTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, Mac> macs = new HashMap<>();
+    private final String activeKeyId;
+    private final long ttlSeconds;
+    private final Cache<String, TokenPrincipal> verified;
+    private final Clock clock;
+
+    @Autowired
+    public AccessTokenService(AccessTokenProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    AccessTokenService(AccessTokenProperties properties, Clock clock) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("app.auth.tokens.keys must define at least one signing key");
+        }
+        properties.getKeys().forEach((keyId, secret) -> {
+            if (keyId.contains(".")) {
+                throw new IllegalStateException("Token key id must not contain '.': " + keyId);
+            }
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalStateException("Token key '" + keyId
+                        + "' is empty; set APP_TOKEN_KEY or run with the dev profile");
+            }
+            macs.put(keyId, newMac(Base64.getDecoder().decode(secret)));
+        });
+        this.activeKeyId = properties.getActiveKeyId() != null
+                ? properties.getActiveKeyId()
+                : properties.getKeys().keySet().iterator().next();
+        if (!macs.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active token key '" + activeKeyId + "' is not configured");
+        }
+        this.ttlSeconds = properties.getTtl().toSeconds();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.clock = clock;
+    }
+
+    public String issue(Long userId) {
+        long expires = clock.instant().getEpochSecond() + ttlSeconds;
+        String payload = activeKeyId + "." + userId + "." + expires;
+        return payload + "." + ENCODER.encodeToString(sign(activeKeyId, payload));
+    }
+
+    public TokenPrincipal verify(String token) {
+        Instant now = clock.instant();
+        TokenPrincipal cached = verified.getIfPresent(token);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                verified.invalidate(token);
+                throw new InvalidTokenException("Token expired");
+            }
+            return cached;
+        }
+        TokenPrincipal principal = parse(token);
+        if (principal.isExpired(now)) {
+            throw new InvalidTokenException("Token expired");
+        }
+        verified.put(token, principal);
+        return principal;
+    }
+
+    // Full signature check without the cache; this is the per-request cost on a cache miss
+    TokenPrincipal parse(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        String payload = token.substring(0, signatureStart);
+        String[] parts = payload.split("\\.");
+        if (parts.length != 3 || !macs.containsKey(parts[0])) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(signature, sign(parts[0], payload))) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+        try {
+            return new TokenPrincipal(Long.parseLong(parts[1]), Instant.ofEpochSecond(Long.parseLong(parts[2])), parts[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    private byte[] sign(String keyId, String payload) {
+        try {
+            // Mac is not thread-safe; cloning the initialised prototype avoids re-deriving the key
+            Mac mac = (Mac) macs.get(keyId).clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mac newMac(byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanagement.security;
+
+import java.time.Instant;
+
+// Authenticated caller recovered from a verified access token
+public record TokenPrincipal(Long userId, Instant expiresAt, String keyId) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanagement.service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Each slot carries a sequence number that
+ * says whose turn it is: producers claim a position with one CAS on the tail and publish the
+ * element by advancing the slot's sequence; the consumer takes elements in position order and
+ * hands the slot back by advancing it a lap further. No locks, and a full buffer fails the offer
+ * at once instead of blocking, leaving the back-pressure policy to the caller.
+ * <p>
+ * {@link #drainTo} must only ever be called from one thread at a time.
+ */
+final class ActivityRingBuffer<E> {
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the consumer; read by producers for size()
+    private volatile long head;
+
+    ActivityRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                // The slot still holds the element from one lap ago: full
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Moves up to {@code max} elements into {@code target}; returns how many. */
+    @SuppressWarnings("unchecked")
+    int drainTo(Collection<? super E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add((E) slots[index]);
+            slots[index] = null;
+            sequences.lazySet(index, position + slots.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskAnalyticsDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.ArchivedTaskRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user task statistics kept in memory. The counters are rebuilt from the tasks table with
+ * three aggregate queries at startup and afterwards maintained from committed
+ * {@link TaskChangedEvent}s, so dashboard reads never scan the table. Archived tasks count as
+ * completed: two more queries add them at startup, and archiving or restoring changes nothing.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final Map<Long, UserTaskStats> statsByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        Map<Long, UserTaskStats> rebuilt = recount(null);
+        statsByUser.clear();
+        statsByUser.putAll(rebuilt);
+        logger.info("Analytics counters rebuilt for {} users", rebuilt.size());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.ARCHIVED || event.type() == TaskChangedEvent.Type.RESTORED) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        if (event.before() != null && event.before().userId() != null) {
+            statsFor(event.before().userId()).remove(event.before(), today);
+        }
+        if (event.after() != null && event.after().userId() != null) {
+            statsFor(event.after().userId()).add(event.after(), today);
+        }
+    }
+
+    public TaskAnalyticsDTO getAnalytics(Long userId) {
+        UserTaskStats stats = statsByUser.get(userId);
+        UserTaskStats.Snapshot snapshot = (stats != null ? stats : new UserTaskStats()).snapshot(LocalDate.now());
+
+        TaskAnalyticsDTO dto = new TaskAnalyticsDTO();
+        dto.setUserId(userId);
+        dto.setTotalTasks(snapshot.totalTasks());
+        dto.setTodoTasks(snapshot.statusDistribution().get(TaskStatus.TODO));
+        dto.setInProgressTasks(snapshot.statusDistribution().get(TaskStatus.IN_PROGRESS));
+        dto.setCompletedTasks(snapshot.statusDistribution().get(TaskStatus.COMPLETED));
+        dto.setOverdueTasks(snapshot.overdueTasks());
+        dto.setAverageCompletionTime(snapshot.averageCompletionHours());
+        dto.setStatusDistribution(snapshot.statusDistribution());
+        return dto;
+    }
+
+    /**
+     * Recounts every user from the table and returns the ids whose in-memory counters differ.
+     * Intended for tests and diagnostics; this is the full scan the counters exist to avoid.
+     */
+    public Set<Long> findInconsistentUsers() {
+        LocalDate today = LocalDate.now();
+        Map<Long, UserTaskStats> recounted = recount(null);
+        Set<Long> userIds = new HashSet<>(recounted.keySet());
+        userIds.addAll(statsByUser.keySet());
+        return userIds.stream()
+                .filter(userId -> !snapshotOf(recounted, userId, today).sameCountsAs(snapshotOf(statsByUser, userId, today)))
+                .collect(Collectors.toSet());
+    }
+
+    public boolean isConsistent(Long userId) {
+        LocalDate today = LocalDate.now();
+        return snapshotOf(recount(userId), userId, today).sameCountsAs(snapshotOf(statsByUser, userId, today));
+    }
+
+    private Map<Long, UserTaskStats> recount(Long userId) {
+        LocalDate today = LocalDate.now();
+        Map<Long, UserTaskStats> stats = new HashMap<>();
+        for (Object[] row : taskRepository.countByUserAndStatus(userId)) {
+            stats.computeIfAbsent((Long) row[0], id -> new UserTaskStats())
+                    .addStatusCount((TaskStatus) row[1], (Long) row[2]);
+        }
+        for (Object[] row : taskRepository.countOpenByUserAndDueDate(userId, TaskStatus.COMPLETED)) {
+            stats.computeIfAbsent((Long) row[0], id -> new UserTaskStats())
+                    .addOpenDueDate((LocalDate) row[1], (Long) row[2], today);
+        }
+        for (Object[] row : taskRepository.countCompletedByUserAndDates(userId, TaskStatus.COMPLETED)) {
+            stats.computeIfAbsent((Long) row[0], id -> new UserTaskStats())
+                    .addCompletion((LocalDate) row[1], (LocalDate) row[2], (Long) row[3]);
+        }
+        for (Object[] row : archivedTaskRepository.countByUser(userId)) {
+            stats.computeIfAbsent((Long) row[0], id -> new UserTaskStats())
+                    .addStatusCount(TaskStatus.COMPLETED, (Long) row[1]);
+        }
+        for (Object[] row : archivedTaskRepository.countByUserAndDates(userId)) {
+            stats.computeIfAbsent((Long) row[0], id -> new UserTaskStats())
+                    .addCompletion((LocalDate) row[1], (LocalDate) row[2], (Long) row[3]);
+        }
+        return stats;
+    }
+
+    private UserTaskStats statsFor(Long userId) {
+        return statsByUser.computeIfAbsent(userId, id -> new UserTaskStats());
+    }
+
+    private static UserTaskStats.Snapshot snapshotOf(Map<Long, UserTaskStats> stats, Long userId, LocalDate today) {
+        return stats.getOrDefault(userId, new UserTaskStats()).snapshot(today);
+    }
+}
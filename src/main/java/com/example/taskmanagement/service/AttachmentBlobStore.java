@@ -0,0 +1,149 @@
+package com.example.taskmanagement.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store: each blob lives at {@code blobs/<2 hex>/<sha256>} under the
+ * configured directory, so identical uploads share one file. Uploads are first staged in
+ * {@code tmp/} (also the multipart spool directory, so a spooled part is renamed rather than
+ * copied) and then published with an atomic move. Callers serialize publish and delete per hash.
+ */
+@Component
+class AttachmentBlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentBlobStore.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path blobs;
+    private final Path staging;
+
+    record StagedBlob(Path file, String sha256, long size) {
+    }
+
+    AttachmentBlobStore(@Value("${app.attachments.dir}") Path root) {
+        this.blobs = root.resolve("blobs");
+        this.staging = root.resolve("tmp");
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(blobs);
+        Files.createDirectories(staging);
+        // Anything left in staging belongs to an upload that never finished
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(staging)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        logger.info("Attachment blob store at {}", blobs.getParent().toAbsolutePath());
+    }
+
+    /** Copies the stream to a staging file, hashing it in the same pass through a fixed buffer. */
+    StagedBlob stage(InputStream in, long maxSize) throws IOException {
+        Path file = Files.createTempFile(staging, "upload-", ".part");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new MaxUploadSizeExceededException(maxSize);
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+            return new StagedBlob(file, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves an already spooled multipart file into staging (a rename when the spool directory is
+     * the staging directory) and hashes it with one sequential read.
+     */
+    StagedBlob stage(MultipartFile upload) throws IOException {
+        Path file = Files.createTempFile(staging, "upload-", ".part");
+        try {
+            Files.delete(file);
+            upload.transferTo(file);
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                MessageDigest digest = sha256();
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+                return new StagedBlob(file, HexFormat.of().formatHex(digest.digest()), in.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    // Returns false if the content was already stored, in which case the staged copy is dropped
+    boolean publish(StagedBlob staged) throws IOException {
+        Path target = path(staged.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged.file());
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(staged.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    void discard(StagedBlob staged) {
+        try {
+            Files.deleteIfExists(staged.file());
+        } catch (IOException e) {
+            logger.warn("Could not remove staged upload {}", staged.file(), e);
+        }
+    }
+
+    void delete(String sha256) {
+        try {
+            Files.deleteIfExists(path(sha256));
+        } catch (IOException e) {
+            logger.warn("Could not remove blob {}", sha256, e);
+        }
+    }
+
+    Path path(String sha256) {
+        return blobs.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the monotonically increasing change versions stamped on task writes and tombstones.
+ *
+ * <p>Versions are allocated before their transaction commits, so a later version can become
+ * visible before an earlier one. {@link #stableVersion()} therefore only reports versions below
+ * the oldest still-running writer; a client that syncs up to it can never miss a change that
+ * commits afterwards. The counter lives in this JVM and is seeded from the tables at startup,
+ * which assumes a single writer node.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionService {
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final Map<Long, Long> committedByUser = new ConcurrentHashMap<>();
+    private long lastAllocated;
+
+    @PostConstruct
+    public void init() {
+        lastAllocated = Math.max(taskRepository.findMaxChangeVersion(), tombstoneRepository.findMaxChangeVersion());
+        for (Object[] row : taskRepository.findMaxChangeVersionByUser()) {
+            committedByUser.merge((Long) row[0], (Long) row[1], Math::max);
+        }
+        for (Object[] row : tombstoneRepository.findMaxChangeVersionByUser()) {
+            committedByUser.merge((Long) row[0], (Long) row[1], Math::max);
+        }
+    }
+
+    /**
+     * Allocates the next version for a write to one of {@code userId}'s tasks. Must be called
+     * inside a transaction; the version stops counting as in flight when that transaction ends.
+     */
+    public long allocate(Long userId) {
+        Allocation allocation = allocate();
+        allocation.setUserId(userId);
+        return allocation.version();
+    }
+
+    /**
+     * Like {@link #allocate(Long)}, for a write whose owner is only known once its statement has
+     * run. Set the owner on the returned allocation before the transaction commits.
+     */
+    public Allocation allocate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change versions can only be allocated inside a transaction");
+        }
+        long version;
+        lock.lock();
+        try {
+            version = ++lastAllocated;
+            inFlight.add(version);
+        } finally {
+            lock.unlock();
+        }
+        Allocation allocation = new Allocation(version);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && allocation.userId != null) {
+                    committedByUser.merge(allocation.userId, version, Math::max);
+                }
+                inFlight.remove(version);
+            }
+        });
+        return allocation;
+    }
+
+    // Highest version below which every write has either committed or rolled back
+    public long stableVersion() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Version of the user's most recent committed write; changes whenever their task list does
+    public long userVersion(Long userId) {
+        return committedByUser.getOrDefault(userId, 0L);
+    }
+
+    public static final class Allocation {
+        private final long version;
+        private Long userId;
+
+        private Allocation(long version) {
+            this.version = version;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
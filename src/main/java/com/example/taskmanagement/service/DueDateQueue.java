@@ -0,0 +1,284 @@
+package com.example.taskmanagement.service;
+
+import java.util.Arrays;
+
+/**
+ * Open tasks with a due date, each with the epoch day on which it next needs attention. Pending
+ * entries sit in a binary min-heap on that day; entries that are already overdue stay in the
+ * table (so completing or rescheduling them can be accounted for) but leave the heap.
+ * <p>
+ * Everything is held in parallel primitive arrays plus an open-addressing map from task id to
+ * array slot, well under 100 bytes per task where a boxed queue and map would take several
+ * hundred. Insert, reschedule and remove are O(log n); looking at the earliest entry is O(1).
+ * Removal moves the last slot into the freed one, so the arrays stay dense.
+ * <p>
+ * Not thread-safe; {@link DueDateScheduler} serializes access.
+ */
+final class DueDateQueue {
+    static final byte PENDING_REMINDER = 0;
+    static final byte PENDING_OVERDUE = 1;
+    static final byte OVERDUE = 2;
+    static final byte ABSENT = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Task ids come from a sequence starting at 1, so 0 can mark an empty map bucket
+    private static final long EMPTY = 0L;
+
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private byte[] states = new byte[INITIAL_CAPACITY];
+    private int[] heapPositions = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int heapSize;
+
+    private long[] bucketIds = new long[INITIAL_CAPACITY * 2];
+    private int[] bucketSlots = new int[INITIAL_CAPACITY * 2];
+
+    int size() {
+        return size;
+    }
+
+    int pendingSize() {
+        return heapSize;
+    }
+
+    /**
+     * Adds the task or replaces its entry. {@code key} is the epoch day the entry next fires on;
+     * it is ignored for {@link #OVERDUE} entries, which are never queued. Returns the state the
+     * task had before, or {@link #ABSENT}.
+     */
+    byte put(long taskId, long userId, int dueDay, int key, byte state) {
+        int slot = find(taskId);
+        byte previous = ABSENT;
+        if (slot < 0) {
+            growForOneMore();
+            slot = size++;
+            taskIds[slot] = taskId;
+            heapPositions[slot] = -1;
+            insertBucket(taskId, slot);
+        } else {
+            previous = states[slot];
+        }
+        userIds[slot] = userId;
+        dueDays[slot] = dueDay;
+        keys[slot] = key;
+        states[slot] = state;
+        if (state == OVERDUE) {
+            leaveHeap(slot);
+        } else if (heapPositions[slot] < 0) {
+            heap[heapSize] = slot;
+            heapPositions[slot] = heapSize++;
+            siftUp(heapPositions[slot]);
+        } else {
+            siftDown(siftUp(heapPositions[slot]));
+        }
+        return previous;
+    }
+
+    /** Removes the task; returns the state it had, or {@link #ABSENT}. */
+    byte remove(long taskId) {
+        int slot = find(taskId);
+        if (slot < 0) {
+            return ABSENT;
+        }
+        byte previous = states[slot];
+        leaveHeap(slot);
+        removeBucket(taskId);
+        int last = --size;
+        if (slot != last) {
+            moveSlot(last, slot);
+        }
+        return previous;
+    }
+
+    // The earliest pending entry's day, or Integer.MAX_VALUE when nothing is pending
+    int peekKey() {
+        return heapSize == 0 ? Integer.MAX_VALUE : keys[heap[0]];
+    }
+
+    long peekTaskId() {
+        return taskIds[heap[0]];
+    }
+
+    long peekUserId() {
+        return userIds[heap[0]];
+    }
+
+    int peekDueDay() {
+        return dueDays[heap[0]];
+    }
+
+    byte peekState() {
+        return states[heap[0]];
+    }
+
+    /** Re-queues the earliest pending entry under a later key and state. */
+    void advanceTop(int key, byte state) {
+        int slot = heap[0];
+        keys[slot] = key;
+        states[slot] = state;
+        if (state == OVERDUE) {
+            leaveHeap(slot);
+        } else {
+            siftDown(0);
+        }
+    }
+
+    void clear() {
+        size = 0;
+        heapSize = 0;
+        Arrays.fill(bucketIds, EMPTY);
+    }
+
+    private void leaveHeap(int slot) {
+        int position = heapPositions[slot];
+        if (position < 0) {
+            return;
+        }
+        heapPositions[slot] = -1;
+        int last = heap[--heapSize];
+        if (position != heapSize) {
+            heap[position] = last;
+            heapPositions[last] = position;
+            siftDown(siftUp(position));
+        }
+    }
+
+    // Moves slot "from" into the free slot "to", fixing up the heap and the id map
+    private void moveSlot(int from, int to) {
+        taskIds[to] = taskIds[from];
+        userIds[to] = userIds[from];
+        dueDays[to] = dueDays[from];
+        keys[to] = keys[from];
+        states[to] = states[from];
+        heapPositions[to] = heapPositions[from];
+        if (heapPositions[to] >= 0) {
+            heap[heapPositions[to]] = to;
+        }
+        bucketSlots[bucketOf(taskIds[to])] = to;
+    }
+
+    private int siftUp(int position) {
+        int slot = heap[position];
+        int key = keys[slot];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentSlot = heap[parent];
+            if (keys[parentSlot] <= key) {
+                break;
+            }
+            heap[position] = parentSlot;
+            heapPositions[parentSlot] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+        return position;
+    }
+
+    private void siftDown(int position) {
+        int slot = heap[position];
+        int key = keys[slot];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childSlot = heap[child];
+            if (key <= keys[childSlot]) {
+                break;
+            }
+            heap[position] = childSlot;
+            heapPositions[childSlot] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    private void growForOneMore() {
+        if (size == taskIds.length) {
+            int capacity = size + (size >> 1);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            dueDays = Arrays.copyOf(dueDays, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            states = Arrays.copyOf(states, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        if ((size + 1) * 2 > bucketIds.length) {
+            rehash(bucketIds.length * 2);
+        }
+    }
+
+    // Id map: linear probing over a power-of-two table kept at most half full
+
+    private int find(long taskId) {
+        int bucket = bucketOf(taskId);
+        return bucket < 0 ? -1 : bucketSlots[bucket];
+    }
+
+    private int bucketOf(long taskId) {
+        int mask = bucketIds.length - 1;
+        for (int i = hash(taskId) & mask; ; i = (i + 1) & mask) {
+            if (bucketIds[i] == taskId) {
+                return i;
+            }
+            if (bucketIds[i] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void insertBucket(long taskId, int slot) {
+        int mask = bucketIds.length - 1;
+        int i = hash(taskId) & mask;
+        while (bucketIds[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        bucketIds[i] = taskId;
+        bucketSlots[i] = slot;
+    }
+
+    // Backward-shift deletion, so lookups never need tombstones
+    private void removeBucket(long taskId) {
+        int mask = bucketIds.length - 1;
+        int hole = bucketOf(taskId);
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long id = bucketIds[i];
+            if (id == EMPTY) {
+                break;
+            }
+            int home = hash(id) & mask;
+            // Move the entry back into the hole unless its home lies cyclically in (hole, i]
+            if (hole <= i ? (home <= hole || home > i) : (home <= hole && home > i)) {
+                bucketIds[hole] = id;
+                bucketSlots[hole] = bucketSlots[i];
+                hole = i;
+            }
+        }
+        bucketIds[hole] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        bucketIds = new long[capacity];
+        bucketSlots = new int[capacity];
+        for (int slot = 0; slot < size; slot++) {
+            insertBucket(taskIds[slot], slot);
+        }
+    }
+
+    private static int hash(long taskId) {
+        long h = taskId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
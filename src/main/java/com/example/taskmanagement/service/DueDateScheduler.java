@@ -0,0 +1,241 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskDueEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Publishes {@link TaskDueEvent}s as open tasks reach their reminder day and pass their due date.
+ * Open tasks with a due date are loaded into a {@link DueDateQueue} once at startup and kept in
+ * sync from committed {@link TaskChangedEvent}s, so a create, reschedule, completion or deletion
+ * costs O(log n) and the table is never scanned again. A periodic tick only looks at the head of
+ * the queue, which is O(1) while nothing is due.
+ * <p>
+ * Due dates are calendar days in the server's time zone: a task is overdue from the start of the
+ * day after its due date, matching the overdue figure in the analytics. Tasks that are already
+ * past a threshold when loaded or saved are classified without an event, so a restart or an edit
+ * into the past does not re-send reminders.
+ */
+@Service
+public class DueDateScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(DueDateScheduler.class);
+    // Entries fired per lock hold; events are published between batches, outside the lock
+    private static final int FIRE_BATCH = 1024;
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration pollInterval;
+    private final int reminderLeadDays;
+    private final Clock clock;
+    private final Counter reminders;
+    private final Counter overdueTransitions;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DueDateQueue queue = new DueDateQueue();
+    // Mirrors of the queue's counts for the gauges, updated under the lock
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong overdue = new AtomicLong();
+
+    @Autowired
+    public DueDateScheduler(TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            TaskScheduler taskScheduler,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.tasks.due.poll-interval:30s}") Duration pollInterval,
+                            @Value("${app.tasks.due.reminder-lead-days:1}") int reminderLeadDays) {
+        this(taskRepository, eventPublisher, taskScheduler, transactionManager, meterRegistry,
+                pollInterval, reminderLeadDays, Clock.systemDefaultZone());
+    }
+
+    DueDateScheduler(TaskRepository taskRepository,
+                     ApplicationEventPublisher eventPublisher,
+                     TaskScheduler taskScheduler,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     Duration pollInterval,
+                     int reminderLeadDays,
+                     Clock clock) {
+        if (reminderLeadDays < 0) {
+            throw new IllegalArgumentException("app.tasks.due.reminder-lead-days must not be negative");
+        }
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pollInterval = pollInterval;
+        this.reminderLeadDays = reminderLeadDays;
+        this.clock = clock;
+        this.reminders = Counter.builder("tasks.due.reminders")
+                .description("Due-soon events published")
+                .register(meterRegistry);
+        this.overdueTransitions = Counter.builder("tasks.due.overdue.transitions")
+                .description("Tasks seen crossing their due date")
+                .register(meterRegistry);
+        Gauge.builder("tasks.due.pending", pending, AtomicInteger::get)
+                .description("Open tasks waiting for their reminder day or due date")
+                .register(meterRegistry);
+        Gauge.builder("tasks.due.overdue", overdue, AtomicLong::get)
+                .description("Open tasks past their due date")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        rebuild();
+        taskScheduler.scheduleWithFixedDelay(this::tick, pollInterval);
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            queue.clear();
+            overdue.set(0);
+            int today = today();
+            long loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = taskRepository.streamOpenDueDates(TaskStatus.COMPLETED)) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        scheduleLocked((Long) row[0], (Long) row[1], (LocalDate) row[2], today);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            pending.set(queue.pendingSize());
+            logger.info("Due-date queue loaded: {} open tasks with due dates, {} overdue", loaded, overdue.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        boolean wasScheduled = before != null && isScheduled(before);
+        if (after == null || !isScheduled(after)) {
+            if (wasScheduled) {
+                lock.lock();
+                try {
+                    unscheduleLocked(before.id());
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return;
+        }
+        if (wasScheduled && before.dueDate().equals(after.dueDate()) && before.userId().equals(after.userId())) {
+            return;
+        }
+        lock.lock();
+        try {
+            scheduleLocked(after.id(), after.userId(), after.dueDate(), today());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fires everything that has come due, in batches so writers are never held up for long
+    void tick() {
+        List<TaskDueEvent> fired = new ArrayList<>();
+        do {
+            fired.clear();
+            lock.lock();
+            try {
+                int today = today();
+                while (fired.size() < FIRE_BATCH && queue.peekKey() <= today) {
+                    int dueDay = queue.peekDueDay();
+                    TaskDueEvent.Type type = queue.peekState() == DueDateQueue.PENDING_REMINDER
+                            && overdueDay(dueDay) > today ? TaskDueEvent.Type.DUE_SOON : TaskDueEvent.Type.OVERDUE;
+                    fired.add(new TaskDueEvent(type, queue.peekTaskId(), queue.peekUserId(),
+                            LocalDate.ofEpochDay(dueDay)));
+                    if (type == TaskDueEvent.Type.DUE_SOON) {
+                        queue.advanceTop(overdueDay(dueDay), DueDateQueue.PENDING_OVERDUE);
+                    } else {
+                        queue.advanceTop(0, DueDateQueue.OVERDUE);
+                        overdue.incrementAndGet();
+                    }
+                }
+                pending.set(queue.pendingSize());
+            } finally {
+                lock.unlock();
+            }
+            for (TaskDueEvent event : fired) {
+                (event.type() == TaskDueEvent.Type.DUE_SOON ? reminders : overdueTransitions).increment();
+                try {
+                    eventPublisher.publishEvent(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener failed for {} of task {}", event.type(), event.taskId(), e);
+                }
+            }
+        } while (fired.size() == FIRE_BATCH);
+    }
+
+    private void scheduleLocked(long taskId, long userId, LocalDate dueDate, int today) {
+        int dueDay = (int) dueDate.toEpochDay();
+        byte state;
+        int key;
+        if (overdueDay(dueDay) <= today) {
+            state = DueDateQueue.OVERDUE;
+            key = 0;
+        } else if (dueDay - reminderLeadDays <= today) {
+            state = DueDateQueue.PENDING_OVERDUE;
+            key = overdueDay(dueDay);
+        } else {
+            state = DueDateQueue.PENDING_REMINDER;
+            key = dueDay - reminderLeadDays;
+        }
+        byte previous = queue.put(taskId, userId, dueDay, key, state);
+        overdue.addAndGet((state == DueDateQueue.OVERDUE ? 1 : 0) - (previous == DueDateQueue.OVERDUE ? 1 : 0));
+        pending.set(queue.pendingSize());
+    }
+
+    private void unscheduleLocked(long taskId) {
+        if (queue.remove(taskId) == DueDateQueue.OVERDUE) {
+            overdue.decrementAndGet();
+        }
+        pending.set(queue.pendingSize());
+    }
+
+    private static boolean isScheduled(TaskSnapshot task) {
+        return task.dueDate() != null && task.status() != TaskStatus.COMPLETED;
+    }
+
+    private static int overdueDay(int dueDay) {
+        return dueDay + 1;
+    }
+
+    private int today() {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskmanagement.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paged list, plus the limit and cursor handling every such list shares.
+ * Queries fetch one row more than the page holds, which tells whether another page exists
+ * without a COUNT query. Cursors are opaque base64url tokens so clients cannot depend on their
+ * shape; simple ones are a tag naming the list followed by the last row's key columns.
+ */
+final class KeysetPage<T> {
+    private static final String MALFORMED = "Malformed cursor";
+
+    private final List<T> items;
+    private final boolean hasMore;
+
+    private KeysetPage(List<T> items, boolean hasMore) {
+        this.items = items;
+        this.hasMore = hasMore;
+    }
+
+    /** Splits rows fetched with a {@link #window} of {@code pageSize} into the page and whether more follow. */
+    static <T> KeysetPage<T> of(List<T> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        return new KeysetPage<>(hasMore ? rows.subList(0, pageSize) : rows, hasMore);
+    }
+
+    static int pageSize(Integer limit, int defaultPageSize, int maxPageSize) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        return limit;
+    }
+
+    static int windowSize(int pageSize) {
+        return pageSize + 1;
+    }
+
+    static Pageable window(int pageSize) {
+        return PageRequest.of(0, windowSize(pageSize));
+    }
+
+    static boolean hasCursor(String cursor) {
+        return cursor != null && !cursor.isBlank();
+    }
+
+    static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(MALFORMED);
+        }
+    }
+
+    static String encodeKeys(String tag, long... keys) {
+        StringBuilder raw = new StringBuilder(tag);
+        for (long key : keys) {
+            raw.append('|').append(key);
+        }
+        return encode(raw.toString());
+    }
+
+    static long[] decodeKeys(String cursor, String tag, int count) {
+        String[] parts = decode(cursor).split("\\|", -1);
+        if (parts.length != count + 1 || !parts[0].equals(tag)) {
+            throw new IllegalArgumentException(MALFORMED);
+        }
+        long[] keys = new long[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                keys[i] = Long.parseLong(parts[i + 1]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(MALFORMED);
+        }
+        return keys;
+    }
+
+    List<T> items() {
+        return items;
+    }
+
+    /** The cursor of the page after this one, or null if this is the last page. */
+    String nextCursor(Function<T, String> cursorAfter) {
+        return hasMore ? cursorAfter.apply(items.get(items.size() - 1)) : null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.exception.ServiceOverloadedException;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt work on a small dedicated pool instead of on request threads. The pool and its
+ * queue are bounded: when both are full, or a caller has waited longer than {@code max-wait},
+ * the call fails fast with {@link ServiceOverloadedException} rather than tying up the
+ * request thread behind a login storm. Opportunistic re-hashing to a higher work factor runs on
+ * a separate single low-priority thread and never takes a slot from a waiting login.
+ */
+@Service
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final int UPGRADE_QUEUE_CAPACITY = 16;
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor upgradeExecutor;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.auth.hashing.concurrency:0}") int concurrency,
+                                  @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.auth.hashing.max-wait:2s}") Duration maxWait) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.maxWait = maxWait;
+
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.upgradeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(UPGRADE_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-upgrade");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("operation", "match").register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hash.wait").register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("auth.password.hash.rejected");
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Re-hashes the user's password in the background if it was stored with an older work
+     * factor. Best effort: while logins are queuing for the hashing pool, or the upgrade queue is
+     * full, the upgrade is skipped and simply retried on a later login.
+     */
+    public void upgradeIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        if (!executor.getQueue().isEmpty()) {
+            logger.debug("Skipped password hash upgrade for user {}: logins are waiting", user.getId());
+            return;
+        }
+        try {
+            upgradeExecutor.execute(() -> {
+                String upgradedHash = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                // Conditional on the old hash so a concurrent password change is never overwritten
+                if (userRepository.updatePasswordHash(user.getId(), currentHash, upgradedHash) > 0) {
+                    logger.info("Upgraded password hash for user {}", user.getId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Skipped password hash upgrade for user {}: upgrade queue full", user.getId());
+        }
+    }
+
+    private <T> T run(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return work.call();
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        rejectedCounter.increment();
+        return new ServiceOverloadedException("Authentication is temporarily overloaded, please retry",
+                Math.max(1, maxWait.toSeconds()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        upgradeExecutor.shutdown();
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskActivityDTO;
+import com.example.taskmanagement.dto.TaskActivityPageDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.TaskActivity;
+import com.example.taskmanagement.repository.TaskActivityRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.security.TokenPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-task history of status transitions and field edits. Committed {@link TaskChangedEvent}s
+ * are turned into one row per changed field and offered to a bounded lock-free ring buffer, so
+ * the writing request pays for a diff and a CAS, never for an insert. A single writer thread
+ * drains the buffer and inserts what it finds as one JDBC batch: at once when a full batch is
+ * waiting, otherwise every flush interval.
+ * <p>
+ * When the buffer is full the overflow policy decides: {@code drop} discards the row at once,
+ * {@code block} wakes the writer and waits up to the block timeout for room before dropping.
+ * Dropped rows are counted in {@code tasks.activity.dropped}. On shutdown the writer drains
+ * what is buffered before the data source closes; history is best-effort, not transactional.
+ */
+@Service
+public class TaskActivityLog {
+    private static final Logger logger = LoggerFactory.getLogger(TaskActivityLog.class);
+    // How long a blocked producer parks between attempts to claim a slot
+    private static final long BLOCK_RETRY_NANOS = Duration.ofMillis(1).toNanos();
+
+    public enum Overflow {
+        DROP,
+        BLOCK
+    }
+
+    private final TaskActivityRepository activityRepository;
+    private final TaskRepository taskRepository;
+    private final ActivityRingBuffer<TaskActivity> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Overflow overflow;
+    private final long blockTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Counter recorded;
+    private final Counter batches;
+    private final Counter droppedFull;
+    private final Counter droppedStopped;
+    private final Counter droppedFailed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskActivityLog(TaskActivityRepository activityRepository,
+                           TaskRepository taskRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.tasks.activity.buffer-capacity:8192}") int bufferCapacity,
+                           @Value("${app.tasks.activity.batch-size:500}") int batchSize,
+                           @Value("${app.tasks.activity.flush-interval:1s}") Duration flushInterval,
+                           @Value("${app.tasks.activity.overflow:block}") Overflow overflow,
+                           @Value("${app.tasks.activity.block-timeout:100ms}") Duration blockTimeout,
+                           @Value("${app.tasks.activity.shutdown-timeout:10s}") Duration shutdownTimeout,
+                           @Value("${app.tasks.activity.page.default-size:50}") int defaultPageSize,
+                           @Value("${app.tasks.activity.page.max-size:200}") int maxPageSize) {
+        if (bufferCapacity < 2 || batchSize < 1) {
+            throw new IllegalArgumentException("app.tasks.activity.buffer-capacity must be at least 2 and batch-size at least 1");
+        }
+        this.activityRepository = activityRepository;
+        this.taskRepository = taskRepository;
+        this.buffer = new ActivityRingBuffer<>(bufferCapacity);
+        this.batchSize = Math.min(batchSize, buffer.capacity());
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflow = overflow;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.recorded = Counter.builder("tasks.activity.recorded")
+                .description("Activity rows written")
+                .register(meterRegistry);
+        this.batches = Counter.builder("tasks.activity.batches")
+                .description("JDBC batches written by the activity writer")
+                .register(meterRegistry);
+        this.droppedFull = dropped(meterRegistry, "full");
+        this.droppedStopped = dropped(meterRegistry, "stopped");
+        this.droppedFailed = dropped(meterRegistry, "failed");
+        Gauge.builder("tasks.activity.buffered", buffer, ActivityRingBuffer::size)
+                .description("Activity rows waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.activity.dropped")
+                .description("Activity rows lost, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "task-activity-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            logger.warn("Activity writer did not finish within {}; {} rows not written", shutdownTimeout, buffer.size());
+            return;
+        }
+        // Rows offered by listeners that saw running just before it was cleared
+        List<TaskActivity> rest = new ArrayList<>();
+        while (buffer.drainTo(rest, batchSize) > 0) {
+            write(rest);
+            rest.clear();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<TaskActivity> rows = diff(event, currentActor(), LocalDateTime.now());
+        for (TaskActivity row : rows) {
+            offer(row);
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskActivityPageDTO getHistory(Long taskId, String cursor, Integer limit) {
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+        long[] position = KeysetPage.hasCursor(cursor)
+                ? KeysetPage.decodeKeys(cursor, "a", 2) : new long[]{Long.MAX_VALUE, Long.MAX_VALUE};
+
+        KeysetPage<TaskActivityDTO> items = KeysetPage.of(activityRepository.findPageBefore(taskId,
+                position[0], position[1], KeysetPage.window(pageSize)), pageSize);
+        // History outlives its task, so only an unknown task with no history is not found
+        if (items.items().isEmpty() && cursor == null && !taskRepository.existsById(taskId)) {
+            throw new EntityNotFoundException("Task", taskId);
+        }
+
+        TaskActivityPageDTO page = new TaskActivityPageDTO();
+        page.setItems(items.items());
+        page.setLimit(pageSize);
+        page.setNextCursor(items.nextCursor(last -> KeysetPage.encodeKeys("a", last.getChangeVersion(), last.getId())));
+        return page;
+    }
+
+    private void offer(TaskActivity row) {
+        if (!running) {
+            droppedStopped.increment();
+            return;
+        }
+        if (buffer.offer(row)) {
+            return;
+        }
+        if (overflow == Overflow.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            do {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(BLOCK_RETRY_NANOS);
+                if (buffer.offer(row)) {
+                    return;
+                }
+            } while (running && System.nanoTime() - deadline < 0);
+        }
+        droppedFull.increment();
+    }
+
+    private void drainLoop() {
+        List<TaskActivity> batch = new ArrayList<>(batchSize);
+        while (true) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (drained == batchSize) {
+                continue;
+            }
+            if (running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else if (buffer.size() == 0) {
+                return;
+            } else {
+                // A producer has claimed a slot but not yet filled it
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void write(List<TaskActivity> rows) {
+        try {
+            activityRepository.insertBatch(rows);
+            recorded.increment(rows.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            droppedFailed.increment(rows.size());
+            logger.warn("Failed to write {} activity rows", rows.size(), e);
+        }
+    }
+
+    static List<TaskActivity> diff(TaskChangedEvent event, Long actorId, LocalDateTime now) {
+        List<TaskActivity> rows = new ArrayList<>(1);
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        switch (event.type()) {
+            case CREATED -> rows.add(row(event, after, actorId, now, TaskActivity.Action.CREATED,
+                    "status", null, after.status()));
+            case DELETED -> rows.add(row(event, before, actorId, now, TaskActivity.Action.DELETED,
+                    null, null, null));
+            case ARCHIVED -> rows.add(row(event, before, actorId, now, TaskActivity.Action.ARCHIVED,
+                    null, null, null));
+            case RESTORED -> rows.add(row(event, after, actorId, now, TaskActivity.Action.RESTORED,
+                    null, null, null));
+            case UPDATED -> {
+                // Comment appends change none of these and leave no rows
+                addIfChanged(rows, event, after, actorId, now, "title", before.title(), after.title());
+                addIfChanged(rows, event, after, actorId, now, "description", before.description(), after.description());
+                addIfChanged(rows, event, after, actorId, now, "status", before.status(), after.status());
+                addIfChanged(rows, event, after, actorId, now, "dueDate", before.dueDate(), after.dueDate());
+            }
+        }
+        return rows;
+    }
+
+    private static void addIfChanged(List<TaskActivity> rows, TaskChangedEvent event, TaskSnapshot task, Long actorId,
+                                     LocalDateTime now, String field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            rows.add(row(event, task, actorId, now, TaskActivity.Action.UPDATED, field, oldValue, newValue));
+        }
+    }
+
+    private static TaskActivity row(TaskChangedEvent event, TaskSnapshot task, Long actorId, LocalDateTime now,
+                                    TaskActivity.Action action, String field, Object oldValue, Object newValue) {
+        TaskActivity row = new TaskActivity();
+        row.setTaskId(task.id());
+        row.setUserId(task.userId());
+        row.setActorId(actorId);
+        row.setAction(action);
+        row.setField(field);
+        row.setOldValue(oldValue != null ? oldValue.toString() : null);
+        row.setNewValue(newValue != null ? newValue.toString() : null);
+        row.setChangeVersion(event.version());
+        row.setOccurredAt(now);
+        return row;
+    }
+
+    // After-commit listeners run on the request thread, so the caller is still known here
+    private static Long currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof TokenPrincipal principal
+                ? principal.userId() : null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.ArchivedTaskDTO;
+import com.example.taskmanagement.dto.ArchivedTaskPageDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.ArchivedTask;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.ArchivedTaskRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the live tasks table down to work that is still relevant. A periodic job moves tasks
+ * that have been completed and untouched for longer than the configured age into
+ * {@code task_archive}, one batch per transaction, and leaves a tombstone so delta-sync clients
+ * drop them. Tasks still linked to others by a subtask or a dependency stay live.
+ * <p>
+ * Archived tasks keep their id, comments, attachments and activity, and can be listed and read
+ * here. Editing or deleting one through {@code TaskService} restores it first, so a reopened task
+ * is simply live again and a deleted one goes the way of any other. Analytics keeps counting
+ * archived tasks as completed.
+ */
+@Service
+public class TaskArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ChangeVersionService changeVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final Duration interval;
+    private final int batchSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Counter archived;
+    private final Counter restored;
+
+    public TaskArchiveService(TaskRepository taskRepository,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              ChangeVersionService changeVersionService,
+                              ApplicationEventPublisher eventPublisher,
+                              TaskScheduler taskScheduler,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.tasks.archive.enabled:true}") boolean enabled,
+                              @Value("${app.tasks.archive.max-age:90d}") Duration maxAge,
+                              @Value("${app.tasks.archive.interval:1h}") Duration interval,
+                              @Value("${app.tasks.archive.batch-size:500}") int batchSize,
+                              @Value("${app.tasks.archive.page.default-size:50}") int defaultPageSize,
+                              @Value("${app.tasks.archive.page.max-size:200}") int maxPageSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.tasks.archive.batch-size must be at least 1");
+        }
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.changeVersionService = changeVersionService;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.archived = Counter.builder("tasks.archive.archived")
+                .description("Tasks moved into the archive")
+                .register(meterRegistry);
+        this.restored = Counter.builder("tasks.archive.restored")
+                .description("Tasks moved back out of the archive")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            taskScheduler.schedule(() -> continueRun(new Run()), Instant.now());
+        }
+    }
+
+    // One batch per turn on the scheduler: its single thread also serves the due-date reminders,
+    // feed heartbeats and health checks, which run between the batches of a long backlog
+    private void continueRun(Run run) {
+        if (run.archiveNextBatch()) {
+            taskScheduler.schedule(() -> continueRun(run), Instant.now());
+        } else {
+            taskScheduler.schedule(() -> continueRun(new Run()), Instant.now().plus(interval));
+        }
+    }
+
+    /** Archives every expired task on the calling thread and returns how many were moved. */
+    public int archiveExpired() {
+        Run run = new Run();
+        while (run.archiveNextBatch()) {
+            logger.debug("Archived {} tasks so far", run.total);
+        }
+        return run.total;
+    }
+
+    // One pass over the tasks expired as of its start, in id order. The age is counted in
+    // calendar days, like the updatedAt it is compared with.
+    private final class Run {
+        private final LocalDate updatedBefore = LocalDate.now().minusDays(maxAge.toDays());
+        private long afterId;
+        private int total;
+
+        // Returns whether another batch may follow
+        boolean archiveNextBatch() {
+            try {
+                Batch batch = transaction.execute(status -> archiveBatch(updatedBefore, afterId));
+                total += batch.archived();
+                if (batch.candidates() == batchSize) {
+                    afterId = batch.lastId();
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                // The failed batch rolled back; it is retried on the next run
+                logger.warn("Archiving stopped after {} tasks", total, e);
+                return false;
+            }
+            if (total > 0) {
+                logger.info("Archived {} tasks completed before {}", total, updatedBefore);
+            }
+            return false;
+        }
+    }
+
+    private record Batch(int candidates, long lastId, int archived) {
+    }
+
+    private Batch archiveBatch(LocalDate updatedBefore, long afterId) {
+        List<Long> ids = taskRepository.findArchivableIds(TaskStatus.COMPLETED, updatedBefore, afterId,
+                PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return new Batch(0, afterId, 0);
+        }
+        // Tasks edited or linked since the lookup are skipped by the delete itself
+        List<ArchivedTask> tasks = archivedTaskRepository.deleteArchivable(ids, updatedBefore);
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskSnapshot> before = tasks.stream().map(TaskArchiveService::snapshotOf).collect(Collectors.toList());
+        for (ArchivedTask task : tasks) {
+            task.setChangeVersion(changeVersionService.allocate(task.getUserId()));
+            task.setArchivedAt(now);
+        }
+        if (!tasks.isEmpty()) {
+            archivedTaskRepository.insertArchived(tasks);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            eventPublisher.publishEvent(TaskChangedEvent.archived(before.get(i), tasks.get(i).getChangeVersion()));
+        }
+        archived.increment(tasks.size());
+        return new Batch(ids.size(), ids.get(ids.size() - 1), tasks.size());
+    }
+
+    /**
+     * Moves the archived tasks among {@code ids} back into the live table, under a new change
+     * version, and returns their ids. Ids that are not archived are ignored.
+     */
+    @Transactional
+    public List<Long> restore(Collection<Long> ids) {
+        List<ArchivedTask> tasks = archivedTaskRepository.deleteFromArchive(ids);
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        for (ArchivedTask task : tasks) {
+            task.setChangeVersion(changeVersionService.allocate(task.getUserId()));
+        }
+        archivedTaskRepository.insertLive(tasks);
+        for (ArchivedTask task : tasks) {
+            eventPublisher.publishEvent(TaskChangedEvent.restored(snapshotOf(task)));
+        }
+        restored.increment(tasks.size());
+        return tasks.stream().map(ArchivedTask::getId).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedTaskPageDTO getArchivedTasks(Long userId, String cursor, Integer limit) {
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+        long beforeId = KeysetPage.hasCursor(cursor) ? KeysetPage.decodeKeys(cursor, "r", 1)[0] : Long.MAX_VALUE;
+
+        KeysetPage<ArchivedTask> tasks = KeysetPage.of(
+                archivedTaskRepository.findPageBefore(userId, beforeId, KeysetPage.window(pageSize)), pageSize);
+        ArchivedTaskPageDTO page = new ArchivedTaskPageDTO();
+        page.setItems(tasks.items().stream().map(TaskArchiveService::convertToDTO).collect(Collectors.toList()));
+        page.setLimit(pageSize);
+        page.setNextCursor(tasks.nextCursor(last -> KeysetPage.encodeKeys("r", last.getId())));
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedTaskDTO getArchivedTask(Long id) {
+        return archivedTaskRepository.findById(id)
+                .map(TaskArchiveService::convertToDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Archived task", id));
+    }
+
+    private static TaskSnapshot snapshotOf(ArchivedTask task) {
+        return new TaskSnapshot(task.getId(), task.getUserId(), task.getTitle(), task.getDescription(),
+                TaskStatus.COMPLETED, task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getChangeVersion(), task.getCommentCount(), task.getVersion());
+    }
+
+    private static ArchivedTaskDTO convertToDTO(ArchivedTask task) {
+        ArchivedTaskDTO dto = new ArchivedTaskDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(TaskStatus.COMPLETED);
+        dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setUserId(task.getUserId());
+        dto.setParentId(task.getParentId());
+        dto.setCommentCount(task.getCommentCount());
+        dto.setVersion(task.getVersion());
+        dto.setArchivedAt(task.getArchivedAt());
+        return dto;
+    }
+}
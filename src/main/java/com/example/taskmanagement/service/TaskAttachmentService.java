@@ -0,0 +1,215 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskAttachmentDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.TaskAttachment;
+import com.example.taskmanagement.repository.ArchivedTaskRepository;
+import com.example.taskmanagement.repository.TaskAttachmentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Task attachments: metadata rows in the database, content in {@link AttachmentBlobStore}.
+ * <p>
+ * A blob is referenced by every attachment row carrying its hash and is removed once the last
+ * such row is gone. Publishing a blob and committing its row, and checking for remaining rows
+ * and removing the blob, each run under the same per-hash lock, so an upload that reuses a blob
+ * can never race with the deletion of its last previous reference. This assumes one node owns
+ * the blob directory.
+ */
+@Service
+public class TaskAttachmentService {
+    private static final int LOCK_STRIPES = 64;
+
+    public record StoredAttachment(TaskAttachmentDTO attachment, Path file) {
+    }
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final AttachmentBlobStore blobStore;
+    private final TransactionTemplate newTransaction;
+    private final long maxSize;
+    private final ReentrantLock[] blobLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public TaskAttachmentService(TaskAttachmentRepository attachmentRepository,
+                                 TaskRepository taskRepository,
+                                 ArchivedTaskRepository archivedTaskRepository,
+                                 AttachmentBlobStore blobStore,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.attachments.max-size:100MB}") DataSize maxSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.blobStore = blobStore;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = maxSize.toBytes();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            blobLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Archived tasks keep their attachments; they can be listed and downloaded but not added to
+    @Transactional(readOnly = true)
+    public List<TaskAttachmentDTO> getAttachments(Long taskId) {
+        if (!taskRepository.existsById(taskId) && !archivedTaskRepository.existsById(taskId)) {
+            throw new EntityNotFoundException("Task", taskId);
+        }
+        return attachmentRepository.findByTaskIdOrderById(taskId).stream()
+                .map(TaskAttachmentService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /** Stores a raw request body. The content is hashed while it is written, in a single pass. */
+    public TaskAttachmentDTO upload(Long taskId, String fileName, String contentType, InputStream content)
+            throws IOException {
+        checkTask(taskId);
+        return save(taskId, fileName, contentType, blobStore.stage(content, maxSize));
+    }
+
+    /** Stores a multipart upload that the container has already spooled to disk. */
+    public TaskAttachmentDTO upload(Long taskId, MultipartFile file) throws IOException {
+        checkTask(taskId);
+        return save(taskId, file.getOriginalFilename(), file.getContentType(), blobStore.stage(file));
+    }
+
+    @Transactional(readOnly = true)
+    public StoredAttachment getForDownload(Long id) {
+        TaskAttachment attachment = attachmentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment", id));
+        return new StoredAttachment(convertToDTO(attachment), blobStore.path(attachment.getSha256()));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        TaskAttachment attachment = attachmentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment", id));
+        attachmentRepository.delete(attachment);
+        reclaimAfterCommit(Set.of(attachment.getSha256()));
+    }
+
+    // Upload locks the task row, so once a task deletion has committed no new attachment can
+    // appear for it and this sweep is complete
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            newTransaction.executeWithoutResult(status -> deleteForTasks(List.of(event.taskId())));
+        }
+    }
+
+    private void deleteForTasks(Collection<Long> taskIds) {
+        List<String> hashes = attachmentRepository.findHashesByTaskIdIn(taskIds);
+        if (hashes.isEmpty()) {
+            return;
+        }
+        attachmentRepository.deleteByTaskIdIn(taskIds);
+        reclaimAfterCommit(Set.copyOf(hashes));
+    }
+
+    private TaskAttachmentDTO save(Long taskId, String fileName, String contentType,
+                                   AttachmentBlobStore.StagedBlob staged) throws IOException {
+        ReentrantLock lock = lockFor(staged.sha256());
+        lock.lock();
+        try {
+            blobStore.publish(staged);
+            try {
+                return newTransaction.execute(status -> {
+                    taskRepository.lockById(taskId).orElseThrow(() -> new EntityNotFoundException("Task", taskId));
+                    TaskAttachment attachment = new TaskAttachment();
+                    attachment.setTaskId(taskId);
+                    attachment.setFileName(fileName(fileName));
+                    attachment.setContentType(contentType);
+                    attachment.setFileSize(staged.size());
+                    attachment.setSha256(staged.sha256());
+                    attachment.setCreatedAt(LocalDateTime.now());
+                    return convertToDTO(attachmentRepository.save(attachment));
+                });
+            } catch (RuntimeException e) {
+                reclaimLocked(staged.sha256());
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+            blobStore.discard(staged);
+        }
+    }
+
+    private void reclaimAfterCommit(Set<String> hashes) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hashes.forEach(TaskAttachmentService.this::reclaim);
+            }
+        });
+    }
+
+    private void reclaim(String sha256) {
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            reclaimLocked(sha256);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reclaimLocked(String sha256) {
+        Boolean referenced = newTransaction.execute(status -> attachmentRepository.existsBySha256(sha256));
+        if (!Boolean.TRUE.equals(referenced)) {
+            blobStore.delete(sha256);
+        }
+    }
+
+    private void checkTask(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new EntityNotFoundException("Task", taskId);
+        }
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return blobLocks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    // Browsers may send a full client path; keep only the last segment
+    private static String fileName(String name) {
+        if (name == null || name.isBlank()) {
+            return "attachment";
+        }
+        String trimmed = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1).trim();
+        return trimmed.isEmpty() ? "attachment" : trimmed;
+    }
+
+    static TaskAttachmentDTO convertToDTO(TaskAttachment attachment) {
+        TaskAttachmentDTO dto = new TaskAttachmentDTO();
+        dto.setId(attachment.getId());
+        dto.setTaskId(attachment.getTaskId());
+        dto.setFileName(attachment.getFileName());
+        dto.setContentType(attachment.getContentType());
+        dto.setFileSize(attachment.getFileSize());
+        dto.setSha256(attachment.getSha256());
+        dto.setCreatedAt(attachment.getCreatedAt());
+        return dto;
+    }
+}
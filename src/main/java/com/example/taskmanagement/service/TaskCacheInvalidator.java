@@ -0,0 +1,39 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.config.CacheConfig;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached task reads once a write has committed: the task itself plus the list of the
+ * owner before and after the change, so an ownership move clears both users' lists.
+ * A read that loaded from a snapshot taken before the commit cannot put it back afterwards:
+ * the eviction bumps the key's generation, and the cache drops loads that started before it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(CacheConfig.TASKS, event.taskId());
+        if (event.before() != null) {
+            evict(CacheConfig.TASK_LISTS, event.before().userId());
+        }
+        if (event.after() != null) {
+            evict(CacheConfig.TASK_LISTS, event.after().userId());
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
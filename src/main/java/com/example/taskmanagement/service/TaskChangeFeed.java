@@ -0,0 +1,196 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskFeedEventDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskDueEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed task changes to each user's open server-sent-event streams. Every event
+ * carries its change version as the SSE id, so a reconnecting client resumes with
+ * {@code Last-Event-ID} from a bounded per-user replay ring; if the ring no longer covers the
+ * gap the client receives a {@code resync} event and should refetch (or call
+ * {@code /api/tasks/changes}). Payloads are serialized once per change, not per subscriber.
+ * <p>
+ * Reminders and overdue notices ({@link TaskDueEvent}) go out as {@code due} events to the
+ * streams open at the time; they have no id and are not replayed.
+ * <p>
+ * An idle stream costs an {@link SseEmitter} and an async request slot, no thread. Events are
+ * written by a small pool of sender threads, never by the committing thread; a stream that falls
+ * {@code send-buffer} events behind is closed and its client resumes on reconnect. Feeds with no
+ * subscribers are dropped once their replay window has passed.
+ */
+@Service
+public class TaskChangeFeed {
+    private static final String DUE_EVENT = "due";
+
+    private final ObjectMapper objectMapper;
+    private final ChangeVersionService changeVersionService;
+    private final TaskScheduler taskScheduler;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Duration reconnectDelay;
+    private final Duration replayWindow;
+    private final int replayCapacity;
+    private final int sendBuffer;
+    private final ThreadPoolExecutor sender;
+    private final Counter slowSubscribersClosed;
+
+    private final Map<Long, UserChangeFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public TaskChangeFeed(ObjectMapper objectMapper,
+                          ChangeVersionService changeVersionService,
+                          TaskScheduler taskScheduler,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.tasks.feed.timeout:30m}") Duration timeout,
+                          @Value("${app.tasks.feed.heartbeat-interval:25s}") Duration heartbeatInterval,
+                          @Value("${app.tasks.feed.reconnect-delay:3s}") Duration reconnectDelay,
+                          @Value("${app.tasks.feed.replay-window:10m}") Duration replayWindow,
+                          @Value("${app.tasks.feed.replay-capacity:256}") int replayCapacity,
+                          @Value("${app.tasks.feed.send-buffer:64}") int sendBuffer,
+                          @Value("${app.tasks.feed.sender-threads:2}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.changeVersionService = changeVersionService;
+        this.taskScheduler = taskScheduler;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.replayWindow = replayWindow;
+        this.replayCapacity = replayCapacity;
+        this.sendBuffer = sendBuffer;
+        // One queued drain per subscriber at most, so the work queue is bounded by the streams
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-feed-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.slowSubscribersClosed = Counter.builder("tasks.feed.slow.closed")
+                .description("Change-feed streams closed for falling send-buffer events behind")
+                .register(meterRegistry);
+        Gauge.builder("tasks.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change-feed streams as of the last heartbeat")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        taskScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    /**
+     * Opens a stream of the user's changes. With {@code lastEventId} the stream first replays
+     * every change committed after that event; without it the stream starts with the next change.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        UserChangeFeed feed;
+        do {
+            feed = feeds.computeIfAbsent(userId, id -> newFeed());
+        } while (!feed.subscribe(emitter, lastEventId, changeVersionService.userVersion(userId),
+                reconnectDelay.toMillis()));
+
+        UserChangeFeed subscribed = feed;
+        emitter.onCompletion(() -> subscribed.unsubscribe(emitter));
+        emitter.onError(e -> subscribed.unsubscribe(emitter));
+        // Ending the request on timeout makes the browser reconnect with Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        // A task moved to another user disappears from the old owner's list
+        if (before != null && (after == null || !before.userId().equals(after.userId()))) {
+            publish(before.userId(), new TaskFeedEventDTO(TaskChangedEvent.Type.DELETED.name(),
+                    event.version(), before.id(), null));
+        }
+        if (after != null) {
+            TaskChangedEvent.Type type = before == null || !before.userId().equals(after.userId())
+                    ? TaskChangedEvent.Type.CREATED : event.type();
+            publish(after.userId(), new TaskFeedEventDTO(type.name(), event.version(), after.id(), toDto(after)));
+        }
+    }
+
+    @EventListener
+    public void onTaskDue(TaskDueEvent event) {
+        UserChangeFeed feed = feeds.get(event.userId());
+        if (feed == null) {
+            return;
+        }
+        try {
+            feed.notify(DUE_EVENT, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize due event for task " + event.taskId(), e);
+        }
+    }
+
+    // Keeps idle streams open through proxies and notices clients that went away
+    void heartbeat() {
+        long cutoff = System.nanoTime() - replayWindow.toNanos();
+        int open = 0;
+        for (Map.Entry<Long, UserChangeFeed> entry : feeds.entrySet()) {
+            UserChangeFeed feed = entry.getValue();
+            open += feed.heartbeat();
+            if (feed.retireIfIdle(cutoff)) {
+                feeds.remove(entry.getKey(), feed);
+            }
+        }
+        subscribers.set(open);
+    }
+
+    private void publish(Long userId, TaskFeedEventDTO event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feed event for task " + event.getTaskId(), e);
+        }
+        UserChangeFeed feed;
+        do {
+            feed = feeds.computeIfAbsent(userId, id -> newFeed());
+        } while (!feed.publish(event.getVersion(), json));
+    }
+
+    private UserChangeFeed newFeed() {
+        return new UserChangeFeed(replayCapacity, sendBuffer, sender, slowSubscribersClosed);
+    }
+
+    private static TaskDTO toDto(TaskSnapshot task) {
+        return new TaskDTO(task.id(), task.title(), task.description(), task.status(), task.dueDate(),
+                task.createdAt(), task.updatedAt(), task.userId(), null, task.changeVersion(), task.commentCount(),
+                task.version());
+    }
+}
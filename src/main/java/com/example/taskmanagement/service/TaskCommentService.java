@@ -0,0 +1,103 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskCommentDTO;
+import com.example.taskmanagement.dto.TaskCommentPageDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskComment;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ArchivedTaskRepository;
+import com.example.taskmanagement.repository.TaskCommentRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only comments keyed by (task id, sequence). Appending takes the task's row lock,
+ * bumps its comment counter and change version in one UPDATE, and inserts the comment; the
+ * task row is never rewritten as an entity. The count travels with every task read, so lists
+ * need no COUNT per task.
+ */
+@Service
+public class TaskCommentService {
+    private final TaskCommentRepository commentRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserRepository userRepository;
+    private final ChangeVersionService changeVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public TaskCommentService(TaskCommentRepository commentRepository,
+                              TaskRepository taskRepository,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              UserRepository userRepository,
+                              ChangeVersionService changeVersionService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.tasks.comments.page.default-size:50}") int defaultPageSize,
+                              @Value("${app.tasks.comments.page.max-size:200}") int maxPageSize) {
+        this.commentRepository = commentRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.userRepository = userRepository;
+        this.changeVersionService = changeVersionService;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional
+    public TaskCommentDTO addComment(Long taskId, Long userId, String content) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        Task task = taskRepository.lockById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task", taskId));
+        User author = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User", userId));
+
+        // The row lock makes the sequence read here the one the increment below produces
+        TaskSnapshot before = TaskSnapshot.of(task);
+        long seq = task.getLastCommentSeq() + 1;
+        long version = changeVersionService.allocate(before.userId());
+        taskRepository.incrementCommentCount(taskId, version);
+
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setSeq(seq);
+        comment.setUserId(userId);
+        comment.setContent(content);
+        comment.setCreatedAt(LocalDateTime.now());
+        commentRepository.save(comment);
+
+        // Lets caches, list ETags, delta sync and the change feed pick up the new count
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, before.withCommentAdded(version)));
+        return new TaskCommentDTO(taskId, seq, userId, author.getName(), content, comment.getCreatedAt());
+    }
+
+    // Archived tasks keep their comments; they can be read but not appended to
+    @Transactional(readOnly = true)
+    public TaskCommentPageDTO getComments(Long taskId, String cursor, Integer limit) {
+        if (!taskRepository.existsById(taskId) && !archivedTaskRepository.existsById(taskId)) {
+            throw new EntityNotFoundException("Task", taskId);
+        }
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+        long beforeSeq = KeysetPage.hasCursor(cursor) ? KeysetPage.decodeKeys(cursor, "c", 1)[0] : Long.MAX_VALUE;
+
+        KeysetPage<TaskCommentDTO> comments = KeysetPage.of(
+                commentRepository.findPageBefore(taskId, beforeSeq, KeysetPage.window(pageSize)), pageSize);
+        TaskCommentPageDTO page = new TaskCommentPageDTO();
+        page.setItems(comments.items());
+        page.setLimit(pageSize);
+        page.setNextCursor(comments.nextCursor(last -> KeysetPage.encodeKeys("c", last.getSeq())));
+        return page;
+    }
+}
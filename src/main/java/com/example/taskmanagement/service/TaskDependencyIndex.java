@@ -0,0 +1,140 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory dependency graphs, one per user, loaded with a single query at startup.
+ *
+ * <p>New edges go into the graph immediately, under the user's lock, so two transactions can
+ * never each add half of a cycle; if the transaction then rolls back the edge is taken out
+ * again. Removals, including those of deleted tasks, are applied only after commit. Between
+ * those points the graph may briefly contain an edge that is not yet, or no longer, in the
+ * database, which only ever makes the cycle check stricter.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskDependencyIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDependencyIndex.class);
+
+    private final TaskDependencyRepository dependencyRepository;
+
+    private final Map<Long, UserTaskGraph> graphsByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        List<Object[]> edges = dependencyRepository.findAllEdges();
+        graphsByUser.clear();
+        for (Object[] row : edges) {
+            graphFor((Long) row[0]).addEdge(
+                    new UserTaskGraph.TaskState((Long) row[1], (TaskStatus) row[2], (LocalDate) row[3]),
+                    new UserTaskGraph.TaskState((Long) row[4], (TaskStatus) row[5], (LocalDate) row[6]));
+        }
+        logger.info("Dependency graph loaded: {} edges for {} users", edges.size(), graphsByUser.size());
+    }
+
+    /**
+     * Adds the edge inside the current transaction; returns false if it already existed.
+     * Throws DependencyCycleException without changing anything if it would close a cycle.
+     */
+    public boolean addEdge(TaskDTO task, TaskDTO dependency) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Dependencies can only be added inside a transaction");
+        }
+        UserTaskGraph graph = graphFor(task.getUserId());
+        if (!graph.addEdge(stateOf(task), stateOf(dependency))) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    graph.removeEdge(task.getId(), dependency.getId());
+                }
+            }
+        });
+        return true;
+    }
+
+    /** Removes the edge once the current transaction commits. */
+    public void removeEdgeAfterCommit(Long userId, Long taskId, Long dependencyId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                UserTaskGraph graph = graphsByUser.get(userId);
+                if (graph != null) {
+                    graph.removeEdge(taskId, dependencyId);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.before() == null) {
+            return;
+        }
+        UserTaskGraph graph = graphsByUser.get(event.before().userId());
+        if (graph == null) {
+            return;
+        }
+        if (event.after() == null) {
+            graph.removeTask(event.taskId());
+        } else {
+            graph.updateTask(event.taskId(), event.after().status(), event.after().dueDate());
+        }
+    }
+
+    public List<Long> dependencies(Long userId, Long taskId) {
+        return query(userId, graph -> graph.dependencies(taskId));
+    }
+
+    public List<Long> dependents(Long userId, Long taskId) {
+        return query(userId, graph -> graph.dependents(taskId));
+    }
+
+    public List<Long> blockedBy(Long userId, Long taskId) {
+        return query(userId, graph -> graph.blockedBy(taskId));
+    }
+
+    public List<Long> closure(Long userId, Long taskId, boolean upstream) {
+        return query(userId, graph -> graph.closure(taskId, upstream));
+    }
+
+    public List<Long> topologicalOrder(Long userId) {
+        return query(userId, UserTaskGraph::topologicalOrder);
+    }
+
+    public List<Long> criticalPath(Long userId) {
+        return query(userId, UserTaskGraph::criticalPath);
+    }
+
+    private List<Long> query(Long userId, Function<UserTaskGraph, List<Long>> query) {
+        UserTaskGraph graph = graphsByUser.get(userId);
+        return graph == null ? List.of() : query.apply(graph);
+    }
+
+    private static UserTaskGraph.TaskState stateOf(TaskDTO task) {
+        return new UserTaskGraph.TaskState(task.getId(), task.getStatus(), task.getDueDate());
+    }
+
+    private UserTaskGraph graphFor(Long userId) {
+        return graphsByUser.computeIfAbsent(userId, id -> new UserTaskGraph());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.TaskDependency;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency and subtask relations. Graph questions are answered from {@link TaskDependencyIndex};
+ * the database is only read to turn the resulting ids into DTOs, one query per call.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskDependencyService {
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskDependencyIndex dependencyIndex;
+
+    @Transactional
+    public TaskDTO addDependency(Long taskId, Long dependencyId) {
+        if (Objects.equals(taskId, dependencyId)) {
+            throw new IllegalArgumentException("A task cannot depend on itself");
+        }
+        // Both rows are locked, in one statement and so in id order, until the edge is committed;
+        // a concurrent delete of either task (which locks it too) cannot leave the edge orphaned
+        taskRepository.lockAllByIdIn(List.of(taskId, dependencyId));
+        Map<Long, TaskDTO> tasks = taskRepository.findDtosByIdIn(List.of(taskId, dependencyId)).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        TaskDTO task = require(tasks, taskId);
+        TaskDTO dependency = require(tasks, dependencyId);
+        if (!Objects.equals(task.getUserId(), dependency.getUserId())) {
+            throw new IllegalArgumentException("Dependencies must belong to the same user");
+        }
+        if (dependencyIndex.addEdge(task, dependency)) {
+            dependencyRepository.save(new TaskDependency(null, taskId, dependencyId, task.getUserId()));
+        }
+        return dependency;
+    }
+
+    @Transactional
+    public void removeDependency(Long taskId, Long dependencyId) {
+        TaskDTO task = taskService.getTaskById(taskId);
+        if (dependencyRepository.deleteEdge(taskId, dependencyId) == 0) {
+            throw new EntityNotFoundException("Task " + taskId + " does not depend on task " + dependencyId);
+        }
+        dependencyIndex.removeEdgeAfterCommit(task.getUserId(), taskId, dependencyId);
+    }
+
+    public List<TaskDTO> getDependencies(Long taskId) {
+        TaskDTO task = taskService.getTaskById(taskId);
+        return loadInOrder(dependencyIndex.dependencies(task.getUserId(), taskId));
+    }
+
+    public List<TaskDTO> getDependents(Long taskId) {
+        TaskDTO task = taskService.getTaskById(taskId);
+        return loadInOrder(dependencyIndex.dependents(task.getUserId(), taskId));
+    }
+
+    public List<TaskDTO> getBlockedBy(Long taskId) {
+        TaskDTO task = taskService.getTaskById(taskId);
+        return loadInOrder(dependencyIndex.blockedBy(task.getUserId(), taskId));
+    }
+
+    public List<TaskDTO> getClosure(Long taskId, boolean upstream) {
+        TaskDTO task = taskService.getTaskById(taskId);
+        return loadInOrder(dependencyIndex.closure(task.getUserId(), taskId, upstream));
+    }
+
+    public List<TaskDTO> getTopologicalOrder(Long userId) {
+        return loadInOrder(dependencyIndex.topologicalOrder(userId));
+    }
+
+    public List<TaskDTO> getCriticalPath(Long userId) {
+        return loadInOrder(dependencyIndex.criticalPath(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getSubtasks(Long parentId) {
+        taskService.getTaskById(parentId);
+        return taskRepository.findDtosByParentId(parentId);
+    }
+
+    private static TaskDTO require(Map<Long, TaskDTO> tasks, Long id) {
+        TaskDTO task = tasks.get(id);
+        if (task == null) {
+            throw new EntityNotFoundException("Task", id);
+        }
+        return task;
+    }
+
+    // Ids of a task deleted since the graph was read are skipped
+    private List<TaskDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskDTO> byId = taskRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        List<TaskDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskDTO task = byId.get(id);
+            if (task != null) {
+                ordered.add(task);
+            }
+        }
+        return ordered;
+    }
+}
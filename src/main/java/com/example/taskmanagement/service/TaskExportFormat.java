@@ -0,0 +1,31 @@
+package com.example.taskmanagement.service;
+
+public enum TaskExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String extension;
+    private final String contentType;
+
+    TaskExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static TaskExportFormat fromParam(String param) {
+        for (TaskExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + param);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all of a user's tasks to an output stream row by row. Rows are read through a
+ * forward-only JPA stream of DTO projections, so nothing accumulates in the persistence
+ * context and heap use does not grow with the number of exported tasks.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final int FLUSH_INTERVAL = 500;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String CSV_HEADER = "id,title,description,status,dueDate,userId,userName";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(Long userId, TaskExportFormat format, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        long rows = 0;
+        try (Stream<TaskDTO> tasks = taskRepository.streamDtosByUserId(userId)) {
+            if (format == TaskExportFormat.CSV) {
+                rows = writeCsv(tasks.iterator(), buffered);
+            } else {
+                rows = writeNdjson(tasks.iterator(), buffered);
+            }
+        }
+        buffered.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly below, not by Jackson's default root separator
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                objectMapper.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tasks.hasNext()) {
+            TaskDTO dto = tasks.next();
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writeCsvField(writer, dto.getTitle());
+            writer.write(',');
+            writeCsvField(writer, dto.getDescription());
+            writer.write(',');
+            writer.write(dto.getStatus().name());
+            writer.write(',');
+            writeCsvField(writer, dto.getDueDate() != null ? dto.getDueDate().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, dto.getUserId() != null ? dto.getUserId().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, dto.getUserName());
+            writer.write('\n');
+            if (++rows % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.repository.TaskFilter;
+import com.example.taskmanagement.repository.TaskFilter.SortField;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sort spec and keyset cursor of a filtered task list. The sort is a comma-separated list of
+ * fields, each optionally prefixed with '-' for descending, e.g. {@code dueDate,-updatedAt};
+ * the task id is always appended as the final tie-breaker. The cursor holds the last row's value
+ * for every sort key and is bound to the sort it was issued for.
+ */
+final class TaskFilterCursor {
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    // One entry per sort key; null when the row had no value
+    private final List<Object> values;
+
+    private TaskFilterCursor(String sort, List<Object> values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    static List<TaskFilter.Order> parseSort(String sort) {
+        List<TaskFilter.Order> orders = new ArrayList<>();
+        Set<SortField> seen = EnumSet.noneOf(SortField.class);
+        for (String part : sort.split(",")) {
+            String param = part.trim();
+            boolean descending = param.startsWith("-");
+            SortField field = SortField.fromParam(descending ? param.substring(1) : param);
+            if (!seen.add(field)) {
+                throw new IllegalArgumentException("Duplicate sort field: " + field.param());
+            }
+            orders.add(new TaskFilter.Order(field, descending));
+        }
+        // The id is unique, so no key after it could ever decide anything
+        if (!seen.contains(SortField.ID)) {
+            orders.add(new TaskFilter.Order(SortField.ID, false));
+        } else if (orders.get(orders.size() - 1).field() != SortField.ID) {
+            throw new IllegalArgumentException("id must be the last sort field");
+        }
+        return orders;
+    }
+
+    static String formatSort(List<TaskFilter.Order> orders) {
+        return orders.stream()
+                .map(order -> (order.descending() ? "-" : "") + order.field().param())
+                .collect(Collectors.joining(","));
+    }
+
+    static TaskFilterCursor after(List<TaskFilter.Order> orders, TaskDTO last) {
+        List<Object> values = new ArrayList<>(orders.size());
+        for (TaskFilter.Order order : orders) {
+            values.add(order.field().valueOf(last));
+        }
+        return new TaskFilterCursor(formatSort(orders), values);
+    }
+
+    static TaskFilterCursor decode(String cursor, List<TaskFilter.Order> orders) {
+        String[] parts = KeysetPage.decode(cursor).split("\\|", -1);
+        String sort = formatSort(orders);
+        if (!parts[0].equals(sort)) {
+            try {
+                parseSort(parts[0]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            throw new IllegalArgumentException("Cursor was issued for sort '" + parts[0] + "'");
+        }
+        if (parts.length != orders.size() + 1) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        List<Object> decoded = new ArrayList<>(orders.size());
+        try {
+            for (int i = 0; i < orders.size(); i++) {
+                String encoded = parts[i + 1];
+                decoded.add(encoded.isEmpty() ? null : orders.get(i).field().parse(KeysetPage.decode(encoded)));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskFilterCursor(sort, decoded);
+    }
+
+    // Each value is encoded on its own so titles may contain the separator
+    String encode() {
+        StringBuilder raw = new StringBuilder(sort);
+        for (Object value : values) {
+            raw.append(SEPARATOR);
+            if (value != null) {
+                raw.append(KeysetPage.encode(String.valueOf(value)));
+            }
+        }
+        return KeysetPage.encode(raw.toString());
+    }
+
+    List<Object> values() {
+        return values;
+    }
+}
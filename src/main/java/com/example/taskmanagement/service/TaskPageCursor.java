@@ -0,0 +1,86 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort column plus the task id
+ * as tie-breaker, encoded as an opaque {@link KeysetPage} token.
+ */
+final class TaskPageCursor {
+
+    enum SortKey {
+        ID("id"),
+        DUE_DATE("dueDate"),
+        STATUS("status");
+
+        private final String param;
+
+        SortKey(String param) {
+            this.param = param;
+        }
+
+        String param() {
+            return param;
+        }
+
+        static SortKey fromParam(String param) {
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + param);
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final SortKey sortKey;
+    // String form of the sort column value; null when the row had no value (dueDate only)
+    private final String value;
+    private final long lastId;
+
+    private TaskPageCursor(SortKey sortKey, String value, long lastId) {
+        this.sortKey = sortKey;
+        this.value = value;
+        this.lastId = lastId;
+    }
+
+    static TaskPageCursor after(SortKey sortKey, TaskDTO last) {
+        String value = switch (sortKey) {
+            case ID -> null;
+            case DUE_DATE -> last.getDueDate() != null ? last.getDueDate().toString() : null;
+            case STATUS -> last.getStatus().name();
+        };
+        return new TaskPageCursor(sortKey, value, last.getId());
+    }
+
+    static TaskPageCursor decode(String cursor, SortKey expected) {
+        String[] parts = KeysetPage.decode(cursor).split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        SortKey sortKey = SortKey.fromParam(parts[0]);
+        if (sortKey != expected) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + sortKey.param() + "'");
+        }
+        try {
+            return new TaskPageCursor(sortKey, parts[1].isEmpty() ? null : parts[1], Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sortKey.param() + SEPARATOR + (value != null ? value : "") + SEPARATOR + lastId;
+        return KeysetPage.encode(raw);
+    }
+
+    String value() {
+        return value;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskSearchHitDTO;
+import com.example.taskmanagement.dto.TaskSearchResultDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over task titles and descriptions, served from per-user in-memory inverted
+ * indexes. The indexes are built by streaming the tasks table once at startup and afterwards
+ * maintained from committed {@link TaskChangedEvent}s; searching never scans the table.
+ */
+@Service
+public class TaskSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxPrefixExpansions;
+
+    private final Map<Long, UserSearchIndex> indexesByUser = new ConcurrentHashMap<>();
+
+    public TaskSearchService(TaskRepository taskRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.tasks.search.default-limit:20}") int defaultLimit,
+                             @Value("${app.tasks.search.max-limit:100}") int maxLimit,
+                             @Value("${app.tasks.search.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        indexesByUser.clear();
+        long indexed = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<TaskDTO> tasks = taskRepository.streamAllDtos()) {
+                for (TaskDTO task : (Iterable<TaskDTO>) tasks::iterator) {
+                    indexFor(task.getUserId()).put(task.getId(), task.getTitle(), task.getDescription(),
+                            task.getStatus(), task.getDueDate());
+                    count++;
+                }
+            }
+            return count;
+        });
+        logger.info("Search index built: {} tasks for {} users", indexed, indexesByUser.size());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        if (before != null && after != null && !indexedFieldsChanged(before, after)) {
+            return;
+        }
+        if (before != null && (after == null || !before.userId().equals(after.userId()))) {
+            UserSearchIndex index = indexesByUser.get(before.userId());
+            if (index != null) {
+                index.remove(before.id());
+            }
+        }
+        if (after != null) {
+            indexFor(after.userId()).put(after.id(), after.title(), after.description(), after.status(), after.dueDate());
+        }
+    }
+
+    /**
+     * Ranks the user's tasks against {@code query}; status and the inclusive due-date bounds are
+     * optional. Tasks without a due date never match a due-date bound.
+     */
+    public TaskSearchResultDTO search(Long userId, String query, TaskStatus status,
+                                      LocalDate dueFrom, LocalDate dueTo, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        Predicate<UserSearchIndex.Filterable> filter = task ->
+                (status == null || task.status() == status)
+                        && (dueFrom == null || (task.dueDate() != null && !task.dueDate().isBefore(dueFrom)))
+                        && (dueTo == null || (task.dueDate() != null && !task.dueDate().isAfter(dueTo)));
+
+        UserSearchIndex index = indexesByUser.get(userId);
+        UserSearchIndex.Result result = index == null
+                ? new UserSearchIndex.Result(0, List.of())
+                : index.search(query, filter, size, maxPrefixExpansions);
+
+        TaskSearchResultDTO dto = new TaskSearchResultDTO();
+        dto.setQuery(query);
+        dto.setTotal(result.total());
+        dto.setItems(load(result.hits()));
+        return dto;
+    }
+
+    // One query for the hits; a task deleted since the search ran is left out
+    private List<TaskSearchHitDTO> load(List<UserSearchIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskDTO> tasks = taskRepository.findDtosByIdIn(hits.stream().map(UserSearchIndex.Hit::taskId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        List<TaskSearchHitDTO> items = new ArrayList<>(hits.size());
+        for (UserSearchIndex.Hit hit : hits) {
+            TaskDTO task = tasks.get(hit.taskId());
+            if (task != null) {
+                items.add(new TaskSearchHitDTO(task, hit.score()));
+            }
+        }
+        return items;
+    }
+
+    // Comment appends, for one, change the task's version but nothing the index holds
+    private static boolean indexedFieldsChanged(TaskSnapshot before, TaskSnapshot after) {
+        return !Objects.equals(before.userId(), after.userId())
+                || !Objects.equals(before.title(), after.title())
+                || !Objects.equals(before.description(), after.description())
+                || before.status() != after.status()
+                || !Objects.equals(before.dueDate(), after.dueDate());
+    }
+
+    private UserSearchIndex indexFor(Long userId) {
+        return indexesByUser.computeIfAbsent(userId, id -> new UserSearchIndex());
+    }
+}
@@ -1,84 +1,531 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.config.CacheConfig;
+import com.example.taskmanagement.datasource.PrimaryOnly;
+import com.example.taskmanagement.dto.TaskBatchItemResultDTO;
+import com.example.taskmanagement.dto.TaskBatchResultDTO;
+import com.example.taskmanagement.dto.TaskChangesDTO;
 import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPageDTO;
+import com.example.taskmanagement.dto.TaskPatchDTO;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
 import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.exception.TaskVersionConflictException;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.TaskTombstone;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.TaskCommentRepository;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import com.example.taskmanagement.repository.TaskFilter;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskTombstoneRepository;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.service.TaskPageCursor.SortKey;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "tasks.service", percentiles = {0.5, 0.99})
 public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskCommentRepository commentRepository;
+    private final ChangeVersionService changeVersionService;
+    private final TaskArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
 
+    @Value("${app.tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.tasks.batch.max-size:500}")
+    private int maxBatchSize;
+
+    // Read from the primary: a replica's stale rows would stay cached until the next write
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "#userId", condition = "#userId != null", sync = true)
+    @PrimaryOnly
     @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks(Long userId) {
-        List<Task> tasks;
         if (userId != null) {
-            tasks = taskRepository.findByUserId(userId);
-        } else {
-            tasks = taskRepository.findAll();
+            return taskRepository.findDtosByUserId(userId);
         }
-        return tasks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return taskRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTaskPage(Long userId, String sort, String cursor, Integer limit) {
+        SortKey sortKey = SortKey.fromParam(sort);
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+        TaskPageCursor after = KeysetPage.hasCursor(cursor) ? TaskPageCursor.decode(cursor, sortKey) : null;
+
+        KeysetPage<TaskDTO> tasks = KeysetPage.of(
+                findPage(userId, sortKey, after, KeysetPage.window(pageSize)), pageSize);
+        TaskPageDTO page = new TaskPageDTO();
+        page.setItems(tasks.items());
+        page.setSort(sortKey.param());
+        page.setLimit(pageSize);
+        page.setNextCursor(tasks.nextCursor(last -> TaskPageCursor.after(sortKey, last).encode()));
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDTO filterTasks(TaskFilter filter, String sort, String cursor, Integer limit) {
+        List<TaskFilter.Order> orders = TaskFilterCursor.parseSort(sort);
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+        List<Object> after = KeysetPage.hasCursor(cursor) ? TaskFilterCursor.decode(cursor, orders).values() : null;
+
+        KeysetPage<TaskDTO> tasks = KeysetPage.of(
+                taskRepository.findFiltered(filter, orders, after, KeysetPage.windowSize(pageSize)), pageSize);
+        TaskPageDTO page = new TaskPageDTO();
+        page.setItems(tasks.items());
+        page.setSort(TaskFilterCursor.formatSort(orders));
+        page.setLimit(pageSize);
+        page.setNextCursor(tasks.nextCursor(last -> TaskFilterCursor.after(orders, last).encode()));
+        return page;
     }
 
+    // Read from the primary: stableVersion() is the primary's, and a replica that has not applied
+    // it yet would hand out a version past changes the client then never asks for again
+    @PrimaryOnly
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChanges(Long userId, long since) {
+        // Only report up to the stable version so a slower in-flight write cannot be skipped
+        long until = changeVersionService.stableVersion();
+        TaskChangesDTO changes = new TaskChangesDTO();
+        changes.setVersion(Math.max(since, until));
+        if (until <= since) {
+            changes.setChanged(List.of());
+            changes.setDeleted(List.of());
+            return changes;
+        }
+        changes.setChanged(taskRepository.findDtosChangedBetween(userId, since, until));
+        changes.setDeleted(tombstoneRepository.findDeletedTaskIds(userId, since, until));
+        return changes;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id", sync = true)
+    @PrimaryOnly
     @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return taskRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Task", id));
-        return convertToDTO(task);
     }
 
     @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
         Task task = convertToEntity(taskDTO);
+        task.setId(null);
         if (taskDTO.getUserId() != null) {
             User user = userRepository.findById(taskDTO.getUserId())
                     .orElseThrow(() -> new EntityNotFoundException("User", taskDTO.getUserId()));
             task.setUser(user);
         }
-        Task savedTask = taskRepository.save(task);
+        task.setChangeVersion(changeVersionService.allocate(taskDTO.getUserId()));
+        // Flush so the lifecycle callbacks have filled in the dates before the snapshot is taken
+        Task savedTask = taskRepository.saveAndFlush(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
+        return convertToDTO(savedTask);
+    }
+
+    // The subtask belongs to the parent's owner; a missing status defaults to TODO
+    @Transactional
+    public TaskDTO createSubtask(Long parentId, TaskDTO taskDTO) {
+        Task parent = taskRepository.findWithUserById(parentId)
+                .orElseThrow(() -> new EntityNotFoundException("Task", parentId));
+        taskDTO.setUserId(parent.getUser().getId());
+        if (taskDTO.getStatus() == null) {
+            taskDTO.setStatus(TaskStatus.TODO);
+        }
+        String error = validate(taskDTO);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        Task task = convertToEntity(taskDTO);
+        task.setId(null);
+        task.setUser(parent.getUser());
+        task.setParent(parent);
+        task.setChangeVersion(changeVersionService.allocate(parent.getUser().getId()));
+        Task savedTask = taskRepository.saveAndFlush(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
         return convertToDTO(savedTask);
     }
 
+    // Copies the fields onto the managed entity, so the flush is a single versioned UPDATE. A
+    // version in the DTO must match; a concurrent write between the read and the flush fails the
+    // UPDATE's version check instead of being overwritten. An archived task is restored first.
     @Transactional
     public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
-        Task existingTask = taskRepository.findById(id)
+        Task task = taskRepository.findWithUserById(id)
+                .or(() -> archiveService.restore(List.of(id)).isEmpty()
+                        ? Optional.empty() : taskRepository.findWithUserById(id))
                 .orElseThrow(() -> new EntityNotFoundException("Task", id));
-        
-        Task task = convertToEntity(taskDTO);
-        task.setId(id);
-        task.setUser(existingTask.getUser());
-        
-        Task updatedTask = taskRepository.save(task);
-        return convertToDTO(updatedTask);
+        checkVersion(task, taskDTO.getVersion());
+        TaskSnapshot before = TaskSnapshot.of(task);
+
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setStatus(taskDTO.getStatus());
+        task.setDueDate(taskDTO.getDueDate());
+        task.setChangeVersion(changeVersionService.allocate(before.userId()));
+
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        return convertToDTO(task);
+    }
+
+    // Partial update without reading the task first: one conditional UPDATE that also returns
+    // the previous row, from which the change event and the response are built. If no row
+    // matched because the task is archived, it is restored and the UPDATE retried.
+    @Transactional
+    public TaskDTO patchTask(Long id, TaskPatchDTO patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch must change at least one field");
+        }
+        if (patch.hasTitle() && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (patch.hasStatus() && patch.getStatus() == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        ChangeVersionService.Allocation allocation = changeVersionService.allocate();
+        LocalDate today = LocalDate.now();
+        Optional<TaskDTO> patched = taskRepository.patchIfVersion(id, patch, allocation.version(), today);
+        if (patched.isEmpty() && !archiveService.restore(List.of(id)).isEmpty()) {
+            // The restore took a newer change version than this one; the edit must come after it
+            allocation = changeVersionService.allocate();
+            patched = taskRepository.patchIfVersion(id, patch, allocation.version(), today);
+        }
+        TaskDTO task = patched.orElseThrow(() -> {
+            long current = taskRepository.findVersionById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Task", id));
+            return new TaskVersionConflictException(id, patch.getVersion(), current);
+        });
+        allocation.setUserId(task.getUserId());
+        TaskSnapshot before = TaskSnapshot.of(task);
+
+        if (patch.hasTitle()) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.hasDescription()) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.hasStatus()) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.hasDueDate()) {
+            task.setDueDate(patch.getDueDate());
+        }
+        task.setUpdatedAt(today);
+        task.setChangeVersion(allocation.version());
+        task.setVersion(task.getVersion() + 1);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        return task;
     }
 
     @Transactional
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new EntityNotFoundException("Task", id);
+        // Locked so that comments and attachments being added concurrently are either committed
+        // before the sweep below or rejected because the task is gone. An archived task is
+        // restored first, so the same sweep removes what it kept in the archive.
+        Task task = taskRepository.lockById(id)
+                .or(() -> archiveService.restore(List.of(id)).isEmpty()
+                        ? Optional.empty() : taskRepository.lockById(id))
+                .orElseThrow(() -> new EntityNotFoundException("Task", id));
+        TaskSnapshot before = TaskSnapshot.of(task);
+        long version = changeVersionService.allocate(before.userId());
+        commentRepository.deleteByTaskIdIn(List.of(id));
+        dependencyRepository.deleteAllTouching(List.of(id));
+        taskRepository.detachSubtasks(List.of(id));
+        taskRepository.delete(task);
+        tombstoneRepository.save(new TaskTombstone(id, before.userId(), version, LocalDateTime.now()));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(before, version));
+    }
+
+    // Batch operations run in one transaction. Items that fail validation or lookup are reported
+    // individually and skipped; the remaining writes are flushed together as JDBC batches.
+
+    @Transactional
+    public TaskBatchResultDTO createTasks(List<TaskDTO> taskDTOs) {
+        checkBatchSize(taskDTOs);
+        TaskBatchResultDTO result = new TaskBatchResultDTO();
+
+        Set<Long> userIds = taskDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO dto = taskDTOs.get(i);
+            String error = validate(dto);
+            if (error == null && dto.getUserId() == null) {
+                error = "userId is required";
+            }
+            if (error == null && !users.containsKey(dto.getUserId())) {
+                error = "User not found";
+            }
+            if (error != null) {
+                result.addFailure(i, null, error);
+                continue;
+            }
+            Task task = convertToEntity(dto);
+            task.setId(null);
+            task.setUser(users.get(dto.getUserId()));
+            task.setChangeVersion(changeVersionService.allocate(dto.getUserId()));
+            tasks.add(task);
+            indexes.add(i);
+        }
+
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
+            result.addSuccess(indexes.get(i), task.getId(), convertToDTO(task));
+        }
+        return sorted(result);
+    }
+
+    @Transactional
+    public TaskBatchResultDTO updateTasks(List<TaskDTO> taskDTOs) {
+        checkBatchSize(taskDTOs);
+        TaskBatchResultDTO result = new TaskBatchResultDTO();
+
+        Set<Long> ids = taskDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> existing = taskRepository.findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity(), (a, b) -> a, HashMap::new));
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(existing.keySet());
+        if (!missing.isEmpty()) {
+            List<Long> restored = archiveService.restore(missing);
+            if (!restored.isEmpty()) {
+                taskRepository.findAllWithUserByIdIn(restored).forEach(task -> existing.put(task.getId(), task));
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<Task> tasks = new ArrayList<>();
+        List<TaskSnapshot> before = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO dto = taskDTOs.get(i);
+            Long id = dto != null ? dto.getId() : null;
+            String error = validate(dto);
+            if (error == null && id == null) {
+                error = "id is required";
+            }
+            if (error == null && !seen.add(id)) {
+                error = "Task " + id + " appears more than once in the batch";
+            }
+            if (error == null && !existing.containsKey(id)) {
+                error = "Task not found";
+            }
+            if (error == null && dto.getVersion() != null && dto.getVersion() != existing.get(id).getVersion()) {
+                error = "Task was modified concurrently";
+            }
+            if (error != null) {
+                result.addFailure(i, id, error);
+                continue;
+            }
+            // Mutate the managed entity; dirty checking turns these into batched UPDATEs at flush
+            Task task = existing.get(id);
+            before.add(TaskSnapshot.of(task));
+            task.setTitle(dto.getTitle());
+            task.setDescription(dto.getDescription());
+            task.setStatus(dto.getStatus());
+            task.setDueDate(dto.getDueDate());
+            task.setChangeVersion(changeVersionService.allocate(task.getUser().getId()));
+            tasks.add(task);
+            indexes.add(i);
+        }
+
+        taskRepository.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before.get(i), TaskSnapshot.of(task)));
+            result.addSuccess(indexes.get(i), task.getId(), convertToDTO(task));
+        }
+        return sorted(result);
+    }
+
+    @Transactional
+    public TaskBatchResultDTO deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        TaskBatchResultDTO result = new TaskBatchResultDTO();
+
+        // Archived tasks are restored and locked like live ones, as in deleteTask, so the sweep
+        // below also removes what the archive kept for them
+        Set<Long> requested = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Task> existing = taskRepository.lockAllByIdIn(requested).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity(), (a, b) -> a, HashMap::new));
+        Set<Long> missing = new HashSet<>(requested);
+        missing.removeAll(existing.keySet());
+        if (!missing.isEmpty()) {
+            List<Long> restored = archiveService.restore(missing);
+            if (!restored.isEmpty()) {
+                taskRepository.lockAllByIdIn(restored).forEach(task -> existing.put(task.getId(), task));
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null || !existing.containsKey(id)) {
+                result.addFailure(i, id, "Task not found");
+            } else if (!seen.add(id)) {
+                result.addFailure(i, id, "Task " + id + " appears more than once in the batch");
+            } else {
+                tasks.add(existing.get(id));
+                indexes.add(i);
+            }
+        }
+
+        List<TaskSnapshot> before = tasks.stream().map(TaskSnapshot::of).collect(Collectors.toList());
+        List<TaskTombstone> tombstones = new ArrayList<>();
+        for (TaskSnapshot snapshot : before) {
+            long version = changeVersionService.allocate(snapshot.userId());
+            tombstones.add(new TaskTombstone(snapshot.id(), snapshot.userId(), version, LocalDateTime.now()));
+        }
+        if (!tasks.isEmpty()) {
+            List<Long> deletedIds = before.stream().map(TaskSnapshot::id).collect(Collectors.toList());
+            commentRepository.deleteByTaskIdIn(deletedIds);
+            dependencyRepository.deleteAllTouching(deletedIds);
+            taskRepository.detachSubtasks(deletedIds);
+        }
+        taskRepository.deleteAll(tasks);
+        tombstoneRepository.saveAll(tombstones);
+        taskRepository.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(before.get(i), tombstones.get(i).getChangeVersion()));
+            result.addSuccess(indexes.get(i), before.get(i).id(), null);
+        }
+        return sorted(result);
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new TaskVersionConflictException(task.getId(), expectedVersion, task.getVersion());
+        }
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxBatchSize + " items");
+        }
+    }
+
+    private String validate(TaskDTO dto) {
+        if (dto == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static TaskBatchResultDTO sorted(TaskBatchResultDTO result) {
+        result.getResults().sort(Comparator.comparingInt(TaskBatchItemResultDTO::getIndex));
+        return result;
+    }
+
+    private List<TaskDTO> findPage(Long userId, SortKey sortKey, TaskPageCursor after, Pageable window) {
+        if (after == null) {
+            return switch (sortKey) {
+                case ID -> taskRepository.findPageOrderById(userId, 0L, window);
+                case DUE_DATE -> withUndatedTasks(userId, taskRepository.findFirstPageWithDueDate(userId, window), window);
+                case STATUS -> taskRepository.findFirstPageOrderByStatus(userId, window);
+            };
+        }
+        try {
+            return switch (sortKey) {
+                case ID -> taskRepository.findPageOrderById(userId, after.lastId(), window);
+                // Tasks without a due date sort last, so once the cursor is among them only those remain
+                case DUE_DATE -> after.value() == null
+                        ? taskRepository.findPageWithoutDueDate(userId, after.lastId(), window)
+                        : withUndatedTasks(userId, taskRepository.findPageWithDueDateAfter(
+                                userId, LocalDate.parse(after.value()), after.lastId(), window), window);
+                case STATUS -> taskRepository.findPageOrderByStatus(
+                        userId, TaskStatus.valueOf(String.valueOf(after.value())), after.lastId(), window);
+            };
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    // Tops up a page that ran out of dated tasks with the first undated ones
+    private List<TaskDTO> withUndatedTasks(Long userId, List<TaskDTO> dated, Pageable window) {
+        int missing = window.getPageSize() - dated.size();
+        if (missing <= 0) {
+            return dated;
         }
-        taskRepository.deleteById(id);
+        List<TaskDTO> page = new ArrayList<>(dated);
+        page.addAll(taskRepository.findPageWithoutDueDate(userId, 0L, PageRequest.of(0, missing)));
+        return page;
     }
 
-    private TaskDTO convertToDTO(Task task) {
+    // Stateless and package-private so the mapping benchmarks can call them directly
+    static TaskDTO convertToDTO(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setChangeVersion(task.getChangeVersion());
+        dto.setCommentCount(task.getCommentCount());
+        dto.setVersion(task.getVersion());
         if (task.getUser() != null) {
             dto.setUserId(task.getUser().getId());
             dto.setUserName(task.getUser().getName());
@@ -86,7 +533,7 @@ public class TaskService {
         return dto;
     }
 
-    private Task convertToEntity(TaskDTO dto) {
+    static Task convertToEntity(TaskDTO dto) {
         Task task = new Task();
         task.setId(dto.getId());
         task.setTitle(dto.getTitle());
@@ -0,0 +1,259 @@
+package com.example.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One user's open event streams plus a bounded ring of their most recent changes, kept in the
+ * order the changes committed. Publishing and subscribing hold the same lock, so a subscriber
+ * that resumes from the ring and then goes live can neither miss nor reorder an event.
+ * <p>
+ * Nothing is written to a stream under that lock: each subscriber has its own queue of pending
+ * events, written out in order by a sender thread. A subscriber that falls {@code sendBuffer}
+ * events behind is closed rather than buffered further; its client reconnects and resumes from
+ * the ring.
+ */
+final class UserChangeFeed {
+    static final String RESYNC_EVENT = "resync";
+
+    record Change(long version, String json) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Change> recent;
+    private final int capacity;
+    private final int sendBuffer;
+    private final Executor sender;
+    private final Counter slowSubscribersClosed;
+    private final List<Subscriber> subscribers = new ArrayList<>(1);
+    private long lastActivityNanos = System.nanoTime();
+    private boolean closed;
+
+    UserChangeFeed(int capacity, int sendBuffer, Executor sender, Counter slowSubscribersClosed) {
+        this.capacity = capacity;
+        this.sendBuffer = sendBuffer;
+        this.sender = sender;
+        this.slowSubscribersClosed = slowSubscribersClosed;
+        this.recent = new ArrayDeque<>(Math.min(capacity, 16));
+    }
+
+    // Returns false if the feed was retired concurrently and the caller must use a fresh one
+    boolean publish(long version, String json) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            Change change = new Change(version, json);
+            recent.addLast(change);
+            lastActivityNanos = System.nanoTime();
+            for (Iterator<Subscriber> it = subscribers.iterator(); it.hasNext(); ) {
+                if (!it.next().offer(event(change))) {
+                    it.remove();
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues what the subscriber missed and registers it for live events. Changes are matched
+     * by position rather than by comparing versions, because versions are allocated before
+     * commit and can arrive out of order. When the ring no longer reaches back to
+     * {@code lastEventId} the subscriber is told to resync instead, unless {@code lastEventId}
+     * is already the user's latest committed version. Returns false, like {@link #publish}, if
+     * the feed was retired concurrently.
+     */
+    boolean subscribe(SseEmitter emitter, Long lastEventId, long userVersion, long reconnectMillis) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            List<Change> replay = lastEventId == null ? List.of() : changesAfter(lastEventId, userVersion);
+            // The replay is bounded by the ring, so it is queued regardless of sendBuffer
+            Subscriber subscriber = new Subscriber(emitter);
+            subscriber.pending.add(SseEmitter.event().reconnectTime(reconnectMillis).comment("connected"));
+            if (replay == null) {
+                subscriber.pending.add(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+            } else {
+                for (Change change : replay) {
+                    subscriber.pending.add(event(change));
+                }
+            }
+            subscriber.schedule();
+            subscribers.add(subscriber);
+            lastActivityNanos = System.nanoTime();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void unsubscribe(SseEmitter emitter) {
+        lock.lock();
+        try {
+            subscribers.removeIf(subscriber -> {
+                if (subscriber.emitter != emitter) {
+                    return false;
+                }
+                subscriber.closed = true;
+                subscriber.pending.clear();
+                return true;
+            });
+            lastActivityNanos = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sends a named event to the live subscribers only; it carries no id and is never replayed
+    void notify(String name, String json) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            subscribers.removeIf(subscriber -> !subscriber.offer(SseEmitter.event().name(name).data(json)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the number of subscribers still connected. Streams with events still queued are
+    // not idle, so only the others get a heartbeat; a failed write removes its subscriber.
+    int heartbeat() {
+        lock.lock();
+        try {
+            subscribers.removeIf(subscriber -> subscriber.pending.isEmpty()
+                    && !subscriber.offer(SseEmitter.event().comment("")));
+            return subscribers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the feed closed if nobody is subscribed and nothing happened since
+     * {@code cutoffNanos}; a closed feed accepts no further subscribers.
+     */
+    boolean retireIfIdle(long cutoffNanos) {
+        lock.lock();
+        try {
+            if (subscribers.isEmpty() && lastActivityNanos - cutoffNanos < 0) {
+                closed = true;
+            }
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Change> changesAfter(long lastEventId, long userVersion) {
+        List<Change> changes = new ArrayList<>(recent);
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            if (changes.get(i).version() == lastEventId) {
+                return changes.subList(i + 1, changes.size());
+            }
+        }
+        // Everything in the ring committed after lastEventId; resending it is harmless
+        return lastEventId == userVersion ? changes : null;
+    }
+
+    private static SseEmitter.SseEventBuilder event(Change change) {
+        return SseEmitter.event().id(Long.toString(change.version())).data(change.json());
+    }
+
+    // Queue state is guarded by the feed's lock; at most one drain per subscriber is scheduled,
+    // which keeps its events in order
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // Closed for falling behind, so the stream is still open and the drain must end it
+        private boolean evicted;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Returns false if the subscriber is gone: closed earlier, or too far behind to keep
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            if (pending.size() >= sendBuffer) {
+                closed = true;
+                evicted = true;
+                pending.clear();
+                slowSubscribersClosed.increment();
+                // The drain completes the stream once any write in progress has returned
+                schedule();
+                return false;
+            }
+            pending.add(event);
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (!draining) {
+                draining = true;
+                sender.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                boolean complete;
+                lock.lock();
+                try {
+                    complete = evicted;
+                    next = closed ? null : pending.poll();
+                    if (next == null) {
+                        draining = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (next == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                    lock.lock();
+                    try {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                        subscribers.remove(this);
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over one user's task titles and descriptions. Terms are kept sorted so a
+ * prefix resolves to a contiguous range of the term dictionary. Each task remembers its own
+ * term weights, so re-indexing or removing it touches only its own postings.
+ * <p>
+ * Scoring is tf-idf: for each query token, the best matching term contributes
+ * (1 + ln tf) * ln(1 + N / df), where title occurrences count three times and df counts the
+ * tasks matching the token through any term. Prefix-only matches are discounted against exact
+ * ones. Every query token must match.
+ */
+final class UserSearchIndex {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final double PREFIX_MATCH_FACTOR = 0.7;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::taskId, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private record Document(TaskStatus status, LocalDate dueDate, Map<String, Integer> terms) {
+    }
+
+    record Hit(long taskId, double score) {
+    }
+
+    record Result(int total, List<Hit> hits) {
+    }
+
+    void put(long taskId, String title, String description, TaskStatus status, LocalDate dueDate) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(title)) {
+            terms.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+            documents.put(taskId, new Document(status, dueDate, terms));
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of matching tasks and the top {@code limit} of them by score. A task
+     * matches when every query token is a term, or a prefix of a term, in its title or
+     * description and it passes the filter.
+     */
+    Result search(String query, Predicate<Filterable> filter, int limit, int maxPrefixExpansions) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new Result(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token, documentCount, maxPrefixExpansions);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Double> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+                    Map<Long, Double> larger = smaller == scores ? tokenScores : scores;
+                    Map<Long, Double> combined = new HashMap<>();
+                    smaller.forEach((taskId, score) -> {
+                        Double other = larger.get(taskId);
+                        if (other != null) {
+                            combined.put(taskId, score + other);
+                        }
+                    });
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return new Result(0, List.of());
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            int total = 0;
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                if (!filter.test(new Filterable(document.status(), document.dueDate()))) {
+                    continue;
+                }
+                total++;
+                top.add(new Hit(entry.getKey(), entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(WORST_FIRST.reversed());
+            return new Result(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The fields a search filter can look at. */
+    record Filterable(TaskStatus status, LocalDate dueDate) {
+    }
+
+    // Best term match per task over the exact term and up to maxPrefixExpansions longer terms,
+    // scaled by the idf of the token as a whole so an exact match always outranks a prefix one
+    private Map<Long, Double> scoreToken(String token, int documentCount, int maxPrefixExpansions) {
+        Map<Long, Double> scores = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            boolean exact = entry.getKey().equals(token);
+            if (!exact && expansions++ >= maxPrefixExpansions) {
+                break;
+            }
+            double factor = exact ? 1.0 : PREFIX_MATCH_FACTOR;
+            entry.getValue().forEach((taskId, weight) ->
+                    scores.merge(taskId, factor * (1 + Math.log(weight)), Math::max));
+        }
+        double idf = Math.log(1 + (double) documentCount / Math.max(1, scores.size()));
+        scores.replaceAll((taskId, score) -> score * idf);
+        return scores;
+    }
+
+    private void removeLocked(long taskId) {
+        Document previous = documents.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(taskId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.exception.DependencyCycleException;
+import com.example.taskmanagement.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dependency graph of one user's linked tasks, held as adjacency sets in both directions.
+ * Only tasks with at least one edge are present. Edge changes are O(1) apart from the cycle
+ * check, which walks only the prerequisites reachable from the new dependency; whole-graph
+ * queries are O((V + E) log V).
+ */
+final class UserTaskGraph {
+    private static final Comparator<Node> BY_DUE_DATE = Comparator
+            .comparing((Node node) -> node.dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(node -> node.id);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    private static final class Node {
+        final long id;
+        TaskStatus status;
+        LocalDate dueDate;
+        // Tasks this one waits for, and tasks waiting for this one
+        final Set<Long> dependsOn = new LinkedHashSet<>();
+        final Set<Long> dependents = new LinkedHashSet<>();
+
+        Node(long id, TaskStatus status, LocalDate dueDate) {
+            this.id = id;
+            this.status = status;
+            this.dueDate = dueDate;
+        }
+
+        boolean isOpen() {
+            return status != TaskStatus.COMPLETED;
+        }
+    }
+
+    record TaskState(long id, TaskStatus status, LocalDate dueDate) {
+    }
+
+    /**
+     * Adds "task depends on dependency". Returns false if the edge already exists and throws
+     * if it would close a cycle, in which case the graph is unchanged.
+     */
+    boolean addEdge(TaskState task, TaskState dependency) {
+        lock.lock();
+        try {
+            Node from = nodes.get(task.id());
+            if (from != null && from.dependsOn.contains(dependency.id())) {
+                return false;
+            }
+            List<Long> path = pathTo(dependency.id(), task.id());
+            if (path != null) {
+                List<Long> cycle = new ArrayList<>(path.size() + 1);
+                cycle.add(task.id());
+                cycle.addAll(path);
+                throw new DependencyCycleException(cycle);
+            }
+            from = upsert(task);
+            Node to = upsert(dependency);
+            from.dependsOn.add(to.id);
+            to.dependents.add(from.id);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void removeEdge(long taskId, long dependencyId) {
+        lock.lock();
+        try {
+            Node from = nodes.get(taskId);
+            Node to = nodes.get(dependencyId);
+            if (from != null) {
+                from.dependsOn.remove(dependencyId);
+                pruneIfIsolated(from);
+            }
+            if (to != null) {
+                to.dependents.remove(taskId);
+                pruneIfIsolated(to);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void removeTask(long taskId) {
+        lock.lock();
+        try {
+            Node node = nodes.remove(taskId);
+            if (node == null) {
+                return;
+            }
+            for (long id : node.dependsOn) {
+                Node other = nodes.get(id);
+                other.dependents.remove(taskId);
+                pruneIfIsolated(other);
+            }
+            for (long id : node.dependents) {
+                Node other = nodes.get(id);
+                other.dependsOn.remove(taskId);
+                pruneIfIsolated(other);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void updateTask(long taskId, TaskStatus status, LocalDate dueDate) {
+        lock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            if (node != null) {
+                node.status = status;
+                node.dueDate = dueDate;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Long> dependencies(long taskId) {
+        lock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            return node == null ? List.of() : new ArrayList<>(node.dependsOn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Long> dependents(long taskId) {
+        lock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            return node == null ? List.of() : new ArrayList<>(node.dependents);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Direct dependencies that are not completed yet. */
+    List<Long> blockedBy(long taskId) {
+        lock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            if (node == null) {
+                return List.of();
+            }
+            List<Long> blocking = new ArrayList<>();
+            for (long id : node.dependsOn) {
+                if (nodes.get(id).isOpen()) {
+                    blocking.add(id);
+                }
+            }
+            return blocking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Everything the task transitively depends on (upstream) or that depends on it, nearest first. */
+    List<Long> closure(long taskId, boolean upstream) {
+        lock.lock();
+        try {
+            Node start = nodes.get(taskId);
+            if (start == null) {
+                return List.of();
+            }
+            Set<Long> seen = new LinkedHashSet<>();
+            Deque<Long> queue = new ArrayDeque<>();
+            queue.add(taskId);
+            while (!queue.isEmpty()) {
+                Node node = nodes.get(queue.poll());
+                for (long next : upstream ? node.dependsOn : node.dependents) {
+                    if (next != taskId && seen.add(next)) {
+                        queue.add(next);
+                    }
+                }
+            }
+            return new ArrayList<>(seen);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Every linked task, each after all of its dependencies; ready tasks are taken earliest due first. */
+    List<Long> topologicalOrder() {
+        lock.lock();
+        try {
+            List<Long> order = new ArrayList<>(nodes.size());
+            for (Node node : sortedTopologically()) {
+                order.add(node.id);
+            }
+            return order;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The longest chain of unfinished tasks that must be done one after another, first task
+     * first. Completed tasks no longer constrain anything and are skipped. Among chains of
+     * equal length the one ending at the earliest due date wins, being the most urgent.
+     */
+    List<Long> criticalPath() {
+        lock.lock();
+        try {
+            Map<Long, Integer> length = new HashMap<>();
+            Map<Long, Long> previous = new HashMap<>();
+            Node end = null;
+            for (Node node : sortedTopologically()) {
+                if (!node.isOpen()) {
+                    continue;
+                }
+                int best = 1;
+                for (long id : node.dependsOn) {
+                    Integer candidate = length.get(id);
+                    if (candidate != null && candidate + 1 > best) {
+                        best = candidate + 1;
+                        previous.put(node.id, id);
+                    }
+                }
+                length.put(node.id, best);
+                if (end == null || best > length.get(end.id)
+                        || (best == length.get(end.id) && BY_DUE_DATE.compare(node, end) < 0)) {
+                    end = node;
+                }
+            }
+            if (end == null) {
+                return List.of();
+            }
+            List<Long> path = new ArrayList<>();
+            for (Long id = end.id; id != null; id = previous.get(id)) {
+                path.add(id);
+            }
+            Collections.reverse(path);
+            return path;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Kahn's algorithm; caller holds the lock. The graph is acyclic by construction.
+    private List<Node> sortedTopologically() {
+        Map<Long, Integer> waitingOn = new HashMap<>(nodes.size() * 2);
+        PriorityQueue<Node> ready = new PriorityQueue<>(BY_DUE_DATE);
+        for (Node node : nodes.values()) {
+            waitingOn.put(node.id, node.dependsOn.size());
+            if (node.dependsOn.isEmpty()) {
+                ready.add(node);
+            }
+        }
+        List<Node> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            order.add(node);
+            for (long id : node.dependents) {
+                if (waitingOn.merge(id, -1, Integer::sum) == 0) {
+                    ready.add(nodes.get(id));
+                }
+            }
+        }
+        return order;
+    }
+
+    // Path from -> ... -> target following dependsOn edges, or null; caller holds the lock
+    private List<Long> pathTo(long from, long target) {
+        if (from == target) {
+            return List.of(from);
+        }
+        if (!nodes.containsKey(from) || !nodes.containsKey(target)) {
+            return null;
+        }
+        Map<Long, Long> reachedFrom = new HashMap<>();
+        reachedFrom.put(from, null);
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            long id = stack.pop();
+            for (long next : nodes.get(id).dependsOn) {
+                if (reachedFrom.containsKey(next)) {
+                    continue;
+                }
+                reachedFrom.put(next, id);
+                if (next == target) {
+                    List<Long> path = new ArrayList<>();
+                    for (Long step = target; step != null; step = reachedFrom.get(step)) {
+                        path.add(step);
+                    }
+                    Collections.reverse(path);
+                    return path;
+                }
+                stack.push(next);
+            }
+        }
+        return null;
+    }
+
+    private Node upsert(TaskState state) {
+        Node node = nodes.computeIfAbsent(state.id(), id -> new Node(id, state.status(), state.dueDate()));
+        node.status = state.status();
+        node.dueDate = state.dueDate();
+        return node;
+    }
+
+    private void pruneIfIsolated(Node node) {
+        if (node.dependsOn.isEmpty() && node.dependents.isEmpty()) {
+            nodes.remove(node.id);
+        }
+    }
+}
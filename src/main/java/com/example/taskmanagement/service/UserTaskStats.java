@@ -0,0 +1,148 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running counters for one user's tasks. Reads are O(1); a due-date change costs
+ * O(log d) in the number of distinct open due dates. Overdue roll-over is amortised: each
+ * due date moves from {@code upcomingDue} into {@code overdue} at most once, on the first
+ * access after that date has passed.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: these methods run on
+ * request threads after commit, and a virtual thread waiting on a contended monitor pins its
+ * carrier on JDK 21.
+ */
+final class UserTaskStats {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] statusCounts = new long[TaskStatus.values().length];
+    // Open tasks due on or after asOf, counted per due date
+    private final TreeMap<LocalDate, Long> upcomingDue = new TreeMap<>();
+    // Open tasks due before asOf
+    private long overdue;
+    private LocalDate asOf;
+    private long completionDaysTotal;
+    private long completionSamples;
+
+    void add(TaskSnapshot task, LocalDate today) {
+        lock.lock();
+        try {
+            apply(task, 1, today);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(TaskSnapshot task, LocalDate today) {
+        lock.lock();
+        try {
+            apply(task, -1, today);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void addStatusCount(TaskStatus status, long count) {
+        lock.lock();
+        try {
+            statusCounts[status.ordinal()] += count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void addOpenDueDate(LocalDate dueDate, long count, LocalDate today) {
+        lock.lock();
+        try {
+            adjustDue(dueDate, count, today);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void addCompletion(LocalDate createdAt, LocalDate updatedAt, long count) {
+        lock.lock();
+        try {
+            completionDaysTotal += ChronoUnit.DAYS.between(createdAt, updatedAt) * count;
+            completionSamples += count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Snapshot snapshot(LocalDate today) {
+        lock.lock();
+        try {
+            roll(today);
+            Map<TaskStatus, Long> distribution = new EnumMap<>(TaskStatus.class);
+            long total = 0;
+            for (TaskStatus status : TaskStatus.values()) {
+                distribution.put(status, statusCounts[status.ordinal()]);
+                total += statusCounts[status.ordinal()];
+            }
+            Double averageHours = completionSamples > 0
+                    ? (double) completionDaysTotal * 24 / completionSamples
+                    : null;
+            return new Snapshot(total, distribution, overdue, averageHours, completionDaysTotal, completionSamples);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(TaskSnapshot task, int delta, LocalDate today) {
+        statusCounts[task.status().ordinal()] += delta;
+        if (task.status() != TaskStatus.COMPLETED) {
+            if (task.dueDate() != null) {
+                adjustDue(task.dueDate(), delta, today);
+            }
+        } else if (task.createdAt() != null && task.updatedAt() != null) {
+            completionDaysTotal += ChronoUnit.DAYS.between(task.createdAt(), task.updatedAt()) * delta;
+            completionSamples += delta;
+        }
+    }
+
+    private void adjustDue(LocalDate dueDate, long delta, LocalDate today) {
+        roll(today);
+        if (dueDate.isBefore(asOf)) {
+            overdue += delta;
+        } else {
+            upcomingDue.merge(dueDate, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private void roll(LocalDate today) {
+        if (asOf == null) {
+            asOf = today;
+            return;
+        }
+        if (today.isAfter(asOf)) {
+            while (!upcomingDue.isEmpty() && upcomingDue.firstKey().isBefore(today)) {
+                overdue += upcomingDue.pollFirstEntry().getValue();
+            }
+            asOf = today;
+        }
+    }
+
+    record Snapshot(long totalTasks,
+                    Map<TaskStatus, Long> statusDistribution,
+                    long overdueTasks,
+                    Double averageCompletionHours,
+                    long completionDaysTotal,
+                    long completionSamples) {
+
+        boolean sameCountsAs(Snapshot other) {
+            return totalTasks == other.totalTasks
+                    && statusDistribution.equals(other.statusDistribution)
+                    && overdueTasks == other.overdueTasks
+                    && completionDaysTotal == other.completionDaysTotal
+                    && completionSamples == other.completionSamples;
+        }
+    }
+}
@@ -71,6 +71,19 @@ export const updateTask = async (id: number, task: any) => {
     }
 };
 
+// Sends only the given fields; fails if the task is no longer at `version`
+export const patchTask = async (id: number, version: number, fields: any) => {
+    try {
+        const response = await api.patch(`/tasks/${id}`, { ...fields, version });
+        return response.data;
+    } catch (error: any) {
+        if (error.response) {
+            throw new Error(error.response.data.message || 'Failed to update task');
+        }
+        throw new Error('Network error occurred');
+    }
+};
+
 export const deleteTask = async (id: number) => {
     try {
         const response = await api.delete(`/tasks/${id}`);
@@ -0,0 +1,96 @@
+// Server-sent task changes over fetch. EventSource cannot send an Authorization header, so the
+// stream is read and parsed here, and reconnects resume from the last event id like a browser would.
+const FEED_URL = 'http://localhost:8080/api/tasks/feed';
+const DEFAULT_RETRY_MS = 3000;
+
+// A token binds the feed to its owner; without one the server needs the user named
+export const subscribeToTaskFeed = ({ token, userId, onChange, onResync }) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+  let retryMs = DEFAULT_RETRY_MS;
+  let retryTimer = null;
+
+  const dispatch = (event) => {
+    if (event.id !== null) {
+      lastEventId = event.id;
+    }
+    if (event.type === 'resync') {
+      onResync();
+    } else if (event.type === 'message' && event.data) {
+      onChange(JSON.parse(event.data));
+    }
+  };
+
+  const read = async (body) => {
+    const reader = body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let event = { id: null, type: 'message', data: [] };
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += decoder.decode(value, { stream: true });
+      const lines = buffer.split(/\r\n|\r|\n/);
+      buffer = lines.pop();
+      for (const line of lines) {
+        if (line === '') {
+          dispatch({ ...event, data: event.data.join('\n') });
+          event = { id: null, type: 'message', data: [] };
+          continue;
+        }
+        const colon = line.indexOf(':');
+        if (colon === 0) {
+          continue;
+        }
+        const field = colon === -1 ? line : line.slice(0, colon);
+        const value = colon === -1 ? '' : line.slice(colon + 1).replace(/^ /, '');
+        if (field === 'data') {
+          event.data.push(value);
+        } else if (field === 'event') {
+          event.type = value;
+        } else if (field === 'id') {
+          event.id = value;
+        } else if (field === 'retry' && /^\d+$/.test(value)) {
+          retryMs = Number(value);
+        }
+      }
+    }
+  };
+
+  const connect = async () => {
+    const headers = { Accept: 'text/event-stream' };
+    if (token) {
+      headers.Authorization = `Bearer ${token}`;
+    }
+    if (lastEventId !== null) {
+      headers['Last-Event-ID'] = lastEventId;
+    }
+    try {
+      const response = await fetch(token ? FEED_URL : `${FEED_URL}?userId=${userId}`,
+        { headers, signal: controller.signal });
+      // A rejected token or user will not be accepted on retry either
+      if (response.status === 401 || response.status === 403) {
+        return;
+      }
+      if (response.ok && response.body) {
+        await read(response.body);
+      }
+    } catch (error) {
+      if (controller.signal.aborted) {
+        return;
+      }
+      console.error('Task feed disconnected:', error);
+    }
+    if (!controller.signal.aborted) {
+      retryTimer = setTimeout(connect, retryMs);
+    }
+  };
+
+  connect();
+  return () => {
+    controller.abort();
+    clearTimeout(retryTimer);
+  };
+};
@@ -0,0 +1,32 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+
+import java.util.UUID;
+
+/**
+ * Integration tests share one context and database; every user gets a unique name so a test only
+ * ever sees its own tasks.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Long createUser(UserRepository userRepository, String prefix) {
+        String name = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "password")).getId();
+    }
+
+    /** An unsaved TODO task owned by the user. */
+    public static TaskDTO task(String title, Long userId) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setUserId(userId);
+        return task;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanagement.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AdmissionControlTest {
+
+    @Test
+    void streamsAndTransfersAreNotShed() {
+        AdmissionControl admissionControl = new AdmissionControl(new AdmissionProperties(),
+                mock(TaskScheduler.class), new SimpleMeterRegistry());
+
+        assertThat(admissionControl.isShed("/api/tasks/export")).isFalse();
+        assertThat(admissionControl.isShed("/api/tasks/feed")).isFalse();
+        assertThat(admissionControl.isShed("/api/tasks/7/attachments")).isFalse();
+        assertThat(admissionControl.isShed("/api/attachments/7/download")).isFalse();
+        assertThat(admissionControl.isShed("/api/tasks")).isTrue();
+        assertThat(admissionControl.isShed("/api/tasks/7")).isTrue();
+    }
+
+    @Test
+    void fullStripesSendNewClientsToTheirOverflowBucket() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxBuckets(2);
+        properties.setRead(new AdmissionProperties.Limit(0.001, 1));
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(properties, 2);
+
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (rateLimiter.tryAcquire(RequestClass.READ, "client-" + i) == 0) {
+                admitted++;
+            }
+        }
+        // One bucket of its own per stripe, then one shared overflow token per stripe
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(admitted).isEqualTo(4);
+        // Other request classes have their own overflow buckets
+        assertThat(rateLimiter.tryAcquire(RequestClass.WRITE, "client-19")).isZero();
+    }
+}
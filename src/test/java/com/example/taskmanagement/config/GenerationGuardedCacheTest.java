@@ -0,0 +1,47 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationGuardedCacheTest {
+    private final GenerationGuardedCache cache = new GenerationGuardedCache("test", Caffeine.newBuilder().build());
+
+    @Test
+    void storesLoadedValue() {
+        assertThat(cache.get(1L, () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void dropsLoadOverlappingAnEviction() {
+        // The write commits and evicts while the read is still loading the old state
+        String value = cache.get(1L, () -> {
+            cache.evict(1L);
+            return "stale";
+        });
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(1L).get()).isEqualTo("fresh");
+    }
+
+    @Test
+    void dropsLoadOverlappingAClear() {
+        cache.get(1L, () -> {
+            cache.clear();
+            return "stale";
+        });
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void evictionOfAnotherKeyDoesNotDropLoad() {
+        cache.get(1L, () -> {
+            cache.evict(2L);
+            return "loaded";
+        });
+        assertThat(cache.get(1L).get()).isEqualTo("loaded");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskAttachmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long taskId;
+
+    @BeforeEach
+    void createTask() {
+        Long userId = createUser(userRepository, "files");
+        taskId = taskService.createTask(task("With attachments", userId)).getId();
+    }
+
+    @Test
+    void scriptableContentIsServedAsBinary() throws Exception {
+        long id = upload("page.html", "text/html", "<script>alert(1)</script>");
+        mockMvc.perform(get("/api/attachments/{id}/download", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/octet-stream"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(content().string("<script>alert(1)</script>"));
+    }
+
+    @Test
+    void allowListedContentKeepsItsType() throws Exception {
+        long id = upload("notes.txt", "text/plain;charset=UTF-8", "plain notes");
+        mockMvc.perform(get("/api/attachments/{id}/download", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/plain;charset=UTF-8"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    private long upload(String fileName, String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/tasks/{taskId}/attachments", taskId)
+                        .param("fileName", fileName)
+                        .contentType(contentType)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private TaskDTO first;
+    private TaskDTO second;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "etag");
+        first = taskService.createTask(task("First", userId));
+        second = taskService.createTask(task("Second", userId));
+    }
+
+    @Test
+    void unchangedListIsNotModified() throws Exception {
+        String etag = listETag();
+        mockMvc.perform(get("/api/tasks").param("userId", userId.toString()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void deletingAnOlderTaskChangesTheETag() throws Exception {
+        String etag = listETag();
+        // The deleted task is not the newest, so the highest change version stays the same
+        taskService.deleteTask(first.getId());
+        mockMvc.perform(get("/api/tasks").param("userId", userId.toString()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        assertThat(listETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void updatingATaskChangesTheETag() throws Exception {
+        String etag = listETag();
+        TaskDTO update = task("Second, renamed", userId);
+        update.setVersion(second.getVersion());
+        taskService.updateTask(second.getId(), update);
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].title").value("Second, renamed"));
+    }
+
+    private String listETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
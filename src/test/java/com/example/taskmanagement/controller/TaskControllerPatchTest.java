@@ -0,0 +1,97 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH is a single conditional UPDATE; a stale version matches no row and is answered with 409
+ * and the version the task is actually at.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TaskDTO task;
+
+    @BeforeEach
+    void setUp() {
+        Long userId = createUser(userRepository, "patch");
+        task = taskService.createTask(task("Original", userId));
+    }
+
+    @Test
+    void patchIsOneStatement() throws Exception {
+        double before = patchStatements().totalAmount();
+        long requests = patchStatements().count();
+
+        mockMvc.perform(patch("/api/tasks/{id}", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":" + task.getVersion() + ",\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.title").value("Original"))
+                .andExpect(jsonPath("$.version").value(task.getVersion() + 1));
+
+        assertThat(patchStatements().count()).isEqualTo(requests + 1);
+        assertThat(patchStatements().totalAmount() - before).isEqualTo(1.0);
+    }
+
+    @Test
+    void patchOfAStaleVersionIsAConflict() throws Exception {
+        TaskDTO update = new TaskDTO();
+        update.setTitle("Renamed elsewhere");
+        update.setStatus(TaskStatus.TODO);
+        update.setVersion(task.getVersion());
+        long current = taskService.updateTask(task.getId(), update).getVersion();
+
+        mockMvc.perform(patch("/api/tasks/{id}", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":" + task.getVersion() + ",\"title\":\"Lost update\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.currentVersion").value(current));
+
+        TaskDTO stored = taskService.getTaskById(task.getId());
+        assertThat(stored.getTitle()).isEqualTo("Renamed elsewhere");
+        assertThat(stored.getVersion()).isEqualTo(current);
+    }
+
+    private DistributionSummary patchStatements() {
+        return DistributionSummary.builder("jdbc.statements.per.request")
+                .tag("method", "PATCH")
+                .tag("uri", "/api/tasks/{id}")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AccessTokenService;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A bearer token decides whose tasks the per-user reads return; naming another user is refused.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerPrincipalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    private Long userId;
+    private Long otherUserId;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "owner");
+        otherUserId = createUser(userRepository, "other");
+        taskService.createTask(task("Mine", userId));
+        taskService.createTask(task("Theirs", otherUserId));
+        bearer = "Bearer " + accessTokenService.issue(userId);
+    }
+
+    @Test
+    void callerGetsTheirOwnTasksWithoutNamingThemselves() throws Exception {
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Mine"));
+        mockMvc.perform(get("/api/tasks/page").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+    }
+
+    @Test
+    void anotherUsersTasksAreForbidden() throws Exception {
+        String other = otherUserId.toString();
+        mockMvc.perform(get("/api/tasks").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/user/{userId}", otherUserId).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/page").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/filter").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/changes").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/export").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks/feed").param("userId", other).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unauthenticatedRequestsStillNameTheUser() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("userId", otherUserId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Theirs"));
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isBadRequest());
+    }
+}
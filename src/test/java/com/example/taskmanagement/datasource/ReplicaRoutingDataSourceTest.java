@@ -0,0 +1,82 @@
+package com.example.taskmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+    private final HikariDataSource replica = mock(HikariDataSource.class);
+    private ReplicaRoutingDataSource routing;
+
+    interface Reader {
+        Connection read() throws SQLException;
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-0", replica)),
+                new ReplicaRoutingProperties(), new SimpleMeterRegistry());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void primaryOnlyReadsStayOnThePrimary() throws SQLException {
+        Reader reader = new Reader() {
+            @Override
+            @PrimaryOnly
+            public Connection read() throws SQLException {
+                return routing.getConnection();
+            }
+        };
+        AspectJProxyFactory factory = new AspectJProxyFactory(reader);
+        factory.addAspect(new PrimaryOnlyAspect());
+        Reader proxy = factory.getProxy();
+
+        assertThat(proxy.read()).isSameAs(primaryConnection);
+        // The mark ends with the call
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void failingReplicaIsMarkedDownUntilAProbeSucceeds() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("refused"));
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.healthyReplicas()).isZero();
+
+        doReturn(replicaConnection).when(replica).getConnection();
+        when(replicaConnection.isValid(2)).thenReturn(true);
+        routing.checkHealth();
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskmanagement.datasource;
+
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A request runs several transactions on one open-in-view session; a read-only one that went to
+ * the replica must not leave its connection behind for a later write. The replica is the
+ * primary's database under a login that may only read, so a write routed there fails.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=" + ReplicaRoutingRequestTest.PRIMARY_URL,
+        "app.datasource.routing.replicas[0].username=replica_reader",
+        "app.datasource.routing.replicas[0].password=replica"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ReplicaRoutingRequestTest.ReadThenWriteController.class)
+class ReplicaRoutingRequestTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:taskdb;DB_CLOSE_ON_EXIT=FALSE";
+
+    // Keeps the in-memory database, and so the reader login, alive until the context is up
+    private static Connection admin;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Outside a transaction, so on the primary
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createReaderLogin() throws SQLException {
+        admin = DriverManager.getConnection(PRIMARY_URL, "sa", "password");
+        try (Statement statement = admin.createStatement()) {
+            statement.execute("create user if not exists replica_reader password 'replica'");
+            statement.execute("grant select on schema public to replica_reader");
+        }
+    }
+
+    @AfterAll
+    static void closeAdmin() throws SQLException {
+        admin.close();
+    }
+
+    @Test
+    void writeAfterAReplicaReadInTheSameRequestGoesToThePrimary() throws Exception {
+        String name = "routed-" + UUID.randomUUID().toString().substring(0, 8);
+        double replicaReads = replicaReads();
+        mockMvc.perform(post("/test/read-then-write").param("name", name))
+                .andExpect(status().isOk());
+
+        // The read did go to the replica, so the write succeeding means it was routed on its own
+        assertThat(replicaReads()).isGreaterThan(replicaReads);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where name = ?", Integer.class, name))
+                .isEqualTo(1);
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("datasource.routed").tag("target", "replica-0").counter().count();
+    }
+
+    // Reads in a read-only transaction, then writes in a read-write one, like a check-then-insert
+    @TestConfiguration
+    @RestController
+    static class ReadThenWriteController {
+        private final UserRepository userRepository;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        ReadThenWriteController(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+            this.userRepository = userRepository;
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        @PostMapping("/test/read-then-write")
+        long readThenWrite(@RequestParam String name) {
+            readOnly.execute(status -> userRepository.count());
+            return readWrite.execute(status ->
+                    userRepository.save(new User(name, name + "@example.com", "password")).getId());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanagement.metrics;
+
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+    private final List<ParameterSetOperation> parameters = List.of(
+            new ParameterSetOperation(method("setString", int.class, String.class), new Object[]{1, "$2a$10$secret-hash"}),
+            new ParameterSetOperation(method("setLong", int.class, long.class), new Object[]{2, 42L}),
+            new ParameterSetOperation(method("setNull", int.class, int.class), new Object[]{3, Types.VARCHAR}));
+
+    @Test
+    void masksParameterValuesByDefault() {
+        assertThat(SlowQueryLog.boundValues(parameters, false)).isEqualTo(Arrays.asList("<String>", "<Long>", null));
+    }
+
+    @Test
+    void keepsParameterValuesWhenEnabled() {
+        assertThat(SlowQueryLog.boundValues(parameters, true)).isEqualTo(Arrays.asList("$2a$10$secret-hash", "42", null));
+    }
+
+    private static Method method(String name, Class<?>... types) {
+        try {
+            return PreparedStatement.class.getMethod(name, types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPageDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset pages seek a user-prefixed index range rather than scanning every task of the user.
+ * The SQL Hibernate actually ran is taken from H2's query statistics and explained.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskQueryPlanTest {
+    private static final int TASKS = 12;
+    // Tasks without a due date are read by id; which index serves that is up to the optimizer
+    private static final String MISSING_DUE_DATE_SEEK =
+            "IDX_TASKS_USER_(DUE_DATE: [^*]*DUE_DATE IS NULL|ID: [^*]*ID > )";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "plans");
+        for (int i = 0; i < TASKS; i++) {
+            TaskDTO task = task("Task " + i, userId);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            // Every fourth task has no due date, and due dates repeat so the id has to break ties
+            task.setDueDate(i % 4 == 0 ? null : LocalDate.now().plusDays(i % 5));
+            taskService.createTask(task);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+
+    @Test
+    void filteredPagesByDueDateSeekThePresentAndMissingBuckets() {
+        List<TaskDTO> all = readAll(filter(Set.of()), "dueDate");
+
+        assertThat(all).extracting(TaskDTO::getId).containsExactlyElementsOf(
+                sorted(all, Comparator.comparing(TaskDTO::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))));
+        String cursor = nextCursorAfter(filter(Set.of()), "dueDate", 2);
+        List<String> plans = plansOf(() -> taskService.filterTasks(filter(Set.of()), "dueDate", cursor, 20));
+        assertThat(plans).hasSize(2);
+        assertThat(plans.get(0)).containsPattern("IDX_TASKS_USER_DUE_DATE: [^*]*DUE_DATE >= ");
+        assertThat(plans.get(1)).containsPattern(MISSING_DUE_DATE_SEEK);
+    }
+
+    @Test
+    void filteredPagesForOneStatusSeekStatusAndDueDate() {
+        TaskFilter filter = filter(Set.of(TaskStatus.TODO));
+        List<TaskDTO> all = readAll(filter, "-dueDate");
+
+        assertThat(all).allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(TaskStatus.TODO));
+        assertThat(all).extracting(TaskDTO::getId).containsExactlyElementsOf(sorted(all,
+                Comparator.comparing(TaskDTO::getDueDate, Comparator.nullsLast(Comparator.reverseOrder()))));
+        String cursor = nextCursorAfter(filter, "-dueDate", 1);
+        assertThat(plansOf(() -> taskService.filterTasks(filter, "-dueDate", cursor, 20)))
+                .anySatisfy(plan -> assertThat(plan)
+                        .containsPattern("IDX_TASKS_USER_STATUS_DUE_DATE: [^*]*DUE_DATE <= ")
+                        .containsPattern("IDX_TASKS_USER_STATUS_DUE_DATE: [^*]*STATUS = "));
+    }
+
+    @Test
+    void filteredPagesByStatusAndByIdSeekTheirIndexes() {
+        List<TaskDTO> byStatus = readAll(filter(Set.of()), "status");
+
+        assertThat(byStatus).extracting(TaskDTO::getId)
+                .containsExactlyElementsOf(sorted(byStatus, Comparator.comparing(task -> task.getStatus().name())));
+        String statusCursor = nextCursorAfter(filter(Set.of()), "status", 3);
+        assertThat(plansOf(() -> taskService.filterTasks(filter(Set.of()), "status", statusCursor, 20)))
+                .anySatisfy(plan -> assertThat(plan).containsPattern("IDX_TASKS_USER_STATUS_ID: [^*]*STATUS >= "));
+        String idCursor = nextCursorAfter(filter(Set.of()), "id", 3);
+        assertThat(plansOf(() -> taskService.filterTasks(filter(Set.of()), "id", idCursor, 20)))
+                .anySatisfy(plan -> assertThat(plan).containsPattern("IDX_TASKS_USER_ID: [^*]*ID > "));
+    }
+
+    @Test
+    void listPagesSeekTheirIndexes() {
+        String dueDateCursor = taskService.getTaskPage(userId, "dueDate", null, 2).getNextCursor();
+        assertThat(plansOf(() -> taskService.getTaskPage(userId, "dueDate", dueDateCursor, 20)))
+                .anySatisfy(plan -> assertThat(plan).containsPattern("IDX_TASKS_USER_DUE_DATE: [^*]*DUE_DATE >= "))
+                .anySatisfy(plan -> assertThat(plan).containsPattern(MISSING_DUE_DATE_SEEK));
+
+        String statusCursor = taskService.getTaskPage(userId, "status", null, 3).getNextCursor();
+        assertThat(plansOf(() -> taskService.getTaskPage(userId, "status", statusCursor, 20)))
+                .anySatisfy(plan -> assertThat(plan).containsPattern("IDX_TASKS_USER_STATUS_ID: [^*]*STATUS >= "));
+    }
+
+    private TaskFilter filter(Set<TaskStatus> statuses) {
+        return new TaskFilter(userId, statuses, null, null, null, null, null, null);
+    }
+
+    private String nextCursorAfter(TaskFilter filter, String sort, int rows) {
+        return taskService.filterTasks(filter, sort, null, rows).getNextCursor();
+    }
+
+    // Pages through with a small limit so most pages start from a cursor
+    private List<TaskDTO> readAll(TaskFilter filter, String sort) {
+        List<TaskDTO> tasks = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageDTO page = taskService.filterTasks(filter, sort, cursor, 2);
+            tasks.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return tasks;
+    }
+
+    private static List<Long> sorted(List<TaskDTO> tasks, Comparator<TaskDTO> order) {
+        return tasks.stream().sorted(order.thenComparing(TaskDTO::getId)).map(TaskDTO::getId).collect(Collectors.toList());
+    }
+
+    // Plans of the task queries the action ran, in order, on one line each
+    private List<String> plansOf(Runnable action) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        action.run();
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class);
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            if (sql.toLowerCase().startsWith("select") && sql.toLowerCase().contains("tasks")) {
+                plans.add(jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                        rs -> rs.next() ? rs.getString(1).replaceAll("\\s+", " ") : ""));
+            }
+        }
+        assertThat(plans).isNotEmpty();
+        return plans;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new ActivityRingBuffer<Integer>(3).capacity()).isEqualTo(4);
+        assertThat(new ActivityRingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new ActivityRingBuffer<Integer>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void keepsOrderAcrossManyLapsOfTheSlots() {
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        // Three in, three out leaves the positions out of step with the slots on every lap
+        for (int lap = 0; lap < 10; lap++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+            assertThat(buffer.drainTo(drained, 10)).isEqualTo(1);
+            assertThat(buffer.size()).isZero();
+        }
+        assertThat(drained).hasSize(30);
+        for (int i = 0; i < drained.size(); i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void rejectsOffersWhenFullUntilTheConsumerFreesASlot() {
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        // Small enough that producers keep finding it full
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> sent = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                sent.add(executor.submit(() -> {
+                    go.await();
+                    for (int i = first; i < first + perProducer; i++) {
+                        // Yielding rather than spinning lets the consumer run on a machine with few cores
+                        while (!buffer.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+
+            BitSet seen = new BitSet(producers * perProducer);
+            int[] lastFromProducer = new int[producers];
+            Arrays.fill(lastFromProducer, -1);
+            List<Integer> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int received = 0;
+            while (received < producers * perProducer) {
+                assertThat(System.nanoTime() - deadline).as("drain timed out").isNegative();
+                if (buffer.drainTo(batch, 50) == 0) {
+                    Thread.yield();
+                }
+                for (int element : batch) {
+                    assertThat(seen.get(element)).as("duplicate %d", element).isFalse();
+                    seen.set(element);
+                    // Each producer's elements come out in the order it offered them
+                    int producer = element / perProducer;
+                    assertThat(element).isGreaterThan(lastFromProducer[producer]);
+                    lastFromProducer[producer] = element;
+                }
+                received += batch.size();
+                batch.clear();
+            }
+            for (Future<?> future : sent) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(seen.cardinality()).isEqualTo(producers * perProducer);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
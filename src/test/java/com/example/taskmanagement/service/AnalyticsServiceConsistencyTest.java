@@ -0,0 +1,105 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.TestFixtures;
+import com.example.taskmanagement.dto.TaskAnalyticsDTO;
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskPatchDTO;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The analytics counters are maintained from committed change events; after every kind of write
+ * they must match a recount from the tables.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsServiceConsistencyTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "analytics");
+    }
+
+    @Test
+    void countersMatchRecountAfterCreateUpdateCompleteAndDelete() {
+        TaskDTO overdue = taskService.createTask(task("Overdue", TaskStatus.TODO, LocalDate.now().minusDays(3)));
+        TaskDTO started = taskService.createTask(task("Started", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(5)));
+        TaskDTO doomed = taskService.createTask(task("Doomed", TaskStatus.TODO, null));
+        assertConsistent();
+        assertThat(analyticsService.getAnalytics(userId).getOverdueTasks()).isEqualTo(1);
+
+        TaskDTO update = task("Overdue, rescheduled", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1));
+        update.setVersion(overdue.getVersion());
+        taskService.updateTask(overdue.getId(), update);
+        assertConsistent();
+
+        TaskPatchDTO complete = new TaskPatchDTO();
+        complete.setVersion(started.getVersion());
+        complete.setStatus(TaskStatus.COMPLETED);
+        taskService.patchTask(started.getId(), complete);
+        assertConsistent();
+
+        taskService.deleteTask(doomed.getId());
+        assertConsistent();
+
+        TaskAnalyticsDTO analytics = analyticsService.getAnalytics(userId);
+        assertThat(analytics.getTotalTasks()).isEqualTo(2);
+        assertThat(analytics.getInProgressTasks()).isEqualTo(1);
+        assertThat(analytics.getCompletedTasks()).isEqualTo(1);
+        assertThat(analytics.getTodoTasks()).isZero();
+        assertThat(analytics.getOverdueTasks()).isZero();
+        assertThat(analyticsService.findInconsistentUsers()).doesNotContain(userId);
+    }
+
+    @Test
+    void countersMatchRecountAfterBatchWrites() {
+        TaskDTO first = task("First", TaskStatus.TODO, LocalDate.now().minusDays(1));
+        TaskDTO second = task("Second", TaskStatus.TODO, null);
+        taskService.createTasks(List.of(first, second));
+        assertConsistent();
+
+        List<TaskDTO> created = taskService.getAllTasks(userId);
+        for (TaskDTO task : created) {
+            task.setStatus(TaskStatus.COMPLETED);
+        }
+        taskService.updateTasks(created);
+        assertConsistent();
+
+        taskService.deleteTasks(created.stream().map(TaskDTO::getId).toList());
+        assertConsistent();
+        assertThat(analyticsService.getAnalytics(userId).getTotalTasks()).isZero();
+    }
+
+    private void assertConsistent() {
+        assertThat(analyticsService.isConsistent(userId)).isTrue();
+    }
+
+    private TaskDTO task(String title, TaskStatus status, LocalDate dueDate) {
+        TaskDTO task = TestFixtures.task(title, userId);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DueDateQueueTest {
+    // Buckets in a new queue's id map
+    private static final int INITIAL_BUCKETS = 128;
+
+    private final DueDateQueue queue = new DueDateQueue();
+
+    @Test
+    void collidingIdsArePutRescheduledAndRemovedIndependently() {
+        List<Long> ids = idsSharingABucket(4);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(queue.put(ids.get(i), 1, 100 + i, 100 + i, DueDateQueue.PENDING_REMINDER))
+                    .isEqualTo(DueDateQueue.ABSENT);
+        }
+        assertThat(queue.peekTaskId()).isEqualTo(ids.get(0));
+
+        // Rescheduling the last of the probe chain moves it to the front of the heap
+        assertThat(queue.put(ids.get(3), 1, 50, 50, DueDateQueue.PENDING_OVERDUE))
+                .isEqualTo(DueDateQueue.PENDING_REMINDER);
+        assertThat(queue.peekTaskId()).isEqualTo(ids.get(3));
+        assertThat(queue.size()).isEqualTo(4);
+
+        // Removing the head of the chain has to shift the others back, not lose them
+        assertThat(queue.remove(ids.get(0))).isEqualTo(DueDateQueue.PENDING_REMINDER);
+        assertThat(queue.remove(ids.get(0))).isEqualTo(DueDateQueue.ABSENT);
+        assertThat(queue.remove(ids.get(3))).isEqualTo(DueDateQueue.PENDING_OVERDUE);
+        assertThat(queue.peekTaskId()).isEqualTo(ids.get(1));
+        assertThat(queue.remove(ids.get(2))).isEqualTo(DueDateQueue.PENDING_REMINDER);
+        assertThat(queue.remove(ids.get(1))).isEqualTo(DueDateQueue.PENDING_REMINDER);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.peekKey()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void advancingTheTopToOverdueKeepsItOutOfTheHeap() {
+        queue.put(1, 10, 100, 99, DueDateQueue.PENDING_REMINDER);
+        queue.put(2, 20, 105, 104, DueDateQueue.PENDING_REMINDER);
+
+        queue.advanceTop(101, DueDateQueue.PENDING_OVERDUE);
+        assertThat(queue.peekTaskId()).isEqualTo(1);
+        assertThat(queue.peekKey()).isEqualTo(101);
+        assertThat(queue.peekState()).isEqualTo(DueDateQueue.PENDING_OVERDUE);
+
+        queue.advanceTop(0, DueDateQueue.OVERDUE);
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.pendingSize()).isEqualTo(1);
+        assertThat(queue.peekTaskId()).isEqualTo(2);
+        assertThat(queue.peekUserId()).isEqualTo(20);
+        assertThat(queue.peekDueDay()).isEqualTo(105);
+
+        // Still known, so completing it can be accounted for, and rescheduling re-queues it
+        assertThat(queue.put(1, 10, 110, 109, DueDateQueue.PENDING_REMINDER)).isEqualTo(DueDateQueue.OVERDUE);
+        assertThat(queue.pendingSize()).isEqualTo(2);
+        queue.advanceTop(0, DueDateQueue.OVERDUE);
+        assertThat(queue.remove(2)).isEqualTo(DueDateQueue.OVERDUE);
+        assertThat(queue.peekTaskId()).isEqualTo(1);
+    }
+
+    @Test
+    void growsAndRehashesAndStaysConsistentWithAPlainMap() {
+        Random random = new Random(42);
+        Map<Long, int[]> expected = new HashMap<>();
+        // Well past the initial capacity, with ids clustered so the map sees long probe chains
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(3_000);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                int key = random.nextInt(1_000);
+                byte state = op == 0 ? DueDateQueue.OVERDUE : DueDateQueue.PENDING_REMINDER;
+                byte previous = queue.put(id, id * 7, key + 1, key, state);
+                int[] old = expected.put(id, new int[]{state == DueDateQueue.OVERDUE ? -1 : key, state});
+                assertThat(previous).isEqualTo(old == null ? DueDateQueue.ABSENT : (byte) old[1]);
+            } else {
+                int[] old = expected.remove(id);
+                assertThat(queue.remove(id)).isEqualTo(old == null ? DueDateQueue.ABSENT : (byte) old[1]);
+            }
+            if (step % 1_000 == 0) {
+                assertMatches(expected);
+            }
+        }
+        assertMatches(expected);
+
+        // Draining in key order empties the heap; the overdue entries are still held
+        int previousKey = Integer.MIN_VALUE;
+        int drained = 0;
+        while (queue.pendingSize() > 0) {
+            assertThat(queue.peekKey()).isGreaterThanOrEqualTo(previousKey);
+            assertThat(queue.peekUserId()).isEqualTo(queue.peekTaskId() * 7);
+            previousKey = queue.peekKey();
+            queue.advanceTop(0, DueDateQueue.OVERDUE);
+            drained++;
+        }
+        assertThat(drained).isEqualTo(expected.values().stream().filter(v -> v[0] >= 0).count());
+        assertThat(queue.size()).isEqualTo(expected.size());
+    }
+
+    private void assertMatches(Map<Long, int[]> expected) {
+        assertThat(queue.size()).isEqualTo(expected.size());
+        assertThat(queue.pendingSize()).isEqualTo((int) expected.values().stream().filter(v -> v[0] >= 0).count());
+        int min = expected.values().stream().mapToInt(v -> v[0]).filter(k -> k >= 0).min().orElse(Integer.MAX_VALUE);
+        assertThat(queue.peekKey()).isEqualTo(min);
+    }
+
+    // Ids whose hash lands in the same bucket of a new queue, found with the queue's own hash
+    private static List<Long> idsSharingABucket(int count) {
+        Map<Integer, List<Long>> byBucket = new HashMap<>();
+        for (long id = 1; ; id++) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            int bucket = (int) (h ^ (h >>> 32)) & (INITIAL_BUCKETS - 1);
+            List<Long> ids = byBucket.computeIfAbsent(bucket, b -> new ArrayList<>());
+            ids.add(id);
+            if (ids.size() == count) {
+                return ids;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskDueEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DueDateSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(TODAY);
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.streamOpenDueDates(TaskStatus.COMPLETED)).thenReturn(Stream.of(
+                new Object[]{1L, 7L, TODAY.minusDays(3)},
+                new Object[]{2L, 7L, TODAY.plusDays(2)},
+                new Object[]{3L, 7L, TODAY}));
+        scheduler = new DueDateScheduler(taskRepository, eventPublisher, mock(TaskScheduler.class),
+                mock(PlatformTransactionManager.class), meterRegistry, Duration.ofSeconds(30), 1, clock);
+        scheduler.rebuild();
+    }
+
+    @Test
+    void tasksAlreadyOverdueWhenLoadedAreCountedWithoutAnEvent() {
+        assertThat(overdue()).isEqualTo(1);
+        assertThat(pending()).isEqualTo(2);
+
+        scheduler.tick();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void overdueGaugeFollowsTicksCompletionsReschedulesAndDeletes() {
+        clock.advanceDays(1);
+        scheduler.tick();
+
+        ArgumentCaptor<TaskDueEvent> fired = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(fired.capture());
+        assertThat(fired.getAllValues()).containsExactlyInAnyOrder(
+                new TaskDueEvent(TaskDueEvent.Type.DUE_SOON, 2L, 7L, TODAY.plusDays(2)),
+                new TaskDueEvent(TaskDueEvent.Type.OVERDUE, 3L, 7L, TODAY));
+        assertThat(overdue()).isEqualTo(2);
+        assertThat(pending()).isEqualTo(1);
+
+        // Completing an overdue task
+        scheduler.onTaskChanged(TaskChangedEvent.updated(
+                task(3, TaskStatus.TODO, TODAY), task(3, TaskStatus.COMPLETED, TODAY)));
+        assertThat(overdue()).isEqualTo(1);
+
+        // Moving an overdue task into the future
+        scheduler.onTaskChanged(TaskChangedEvent.updated(
+                task(1, TaskStatus.TODO, TODAY.minusDays(3)), task(1, TaskStatus.TODO, TODAY.plusDays(5))));
+        assertThat(overdue()).isZero();
+        assertThat(pending()).isEqualTo(2);
+
+        // Editing a task into the past counts it as overdue at once, again without an event
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(4, TaskStatus.IN_PROGRESS, TODAY.minusDays(1))));
+        assertThat(overdue()).isEqualTo(1);
+        assertThat(pending()).isEqualTo(2);
+
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(task(4, TaskStatus.IN_PROGRESS, TODAY.minusDays(1)), 9));
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(task(2, TaskStatus.TODO, TODAY.plusDays(2)), 10));
+        assertThat(overdue()).isZero();
+        assertThat(pending()).isEqualTo(1);
+
+        clock.advanceDays(5);
+        scheduler.tick();
+        assertThat(overdue()).isEqualTo(1);
+        assertThat(pending()).isZero();
+    }
+
+    private double overdue() {
+        return meterRegistry.get("tasks.due.overdue").gauge().value();
+    }
+
+    private double pending() {
+        return meterRegistry.get("tasks.due.pending").gauge().value();
+    }
+
+    private static TaskSnapshot task(long id, TaskStatus status, LocalDate dueDate) {
+        return new TaskSnapshot(id, 7L, "Task " + id, null, status, dueDate, TODAY, TODAY, id, 0, 0);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDate day) {
+            instant = day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        void advanceDays(int days) {
+            instant = instant.plus(Duration.ofDays(days));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageTest {
+
+    @Test
+    void extraRowMeansAnotherPage() {
+        KeysetPage<Integer> full = KeysetPage.of(List.of(1, 2, 3), 2);
+        assertThat(full.items()).containsExactly(1, 2);
+        assertThat(full.nextCursor(last -> "after-" + last)).isEqualTo("after-2");
+
+        KeysetPage<Integer> last = KeysetPage.of(List.of(1, 2), 2);
+        assertThat(last.items()).containsExactly(1, 2);
+        assertThat(last.nextCursor(item -> "after-" + item)).isNull();
+        assertThat(KeysetPage.window(2).getPageSize()).isEqualTo(3);
+    }
+
+    @Test
+    void limitDefaultsAndIsBounded() {
+        assertThat(KeysetPage.pageSize(null, 50, 200)).isEqualTo(50);
+        assertThat(KeysetPage.pageSize(200, 50, 200)).isEqualTo(200);
+        assertThatThrownBy(() -> KeysetPage.pageSize(0, 50, 200)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.pageSize(201, 50, 200)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keysRoundTripOnlyForTheirOwnList() {
+        String cursor = KeysetPage.encodeKeys("a", 7, Long.MAX_VALUE);
+        assertThat(KeysetPage.decodeKeys(cursor, "a", 2)).containsExactly(7, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> KeysetPage.decodeKeys(cursor, "c", 2)).hasMessage("Malformed cursor");
+        assertThatThrownBy(() -> KeysetPage.decodeKeys(cursor, "a", 1)).hasMessage("Malformed cursor");
+        assertThatThrownBy(() -> KeysetPage.decodeKeys("not base64!", "a", 2)).hasMessage("Malformed cursor");
+        assertThatThrownBy(() -> KeysetPage.decodeKeys(KeysetPage.encode("a|x|1"), "a", 2))
+                .hasMessage("Malformed cursor");
+    }
+}
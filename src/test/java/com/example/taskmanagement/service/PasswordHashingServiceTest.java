@@ -0,0 +1,100 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(5),
+            userRepository, new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(5));
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void upgradesWeakerHashOnItsOwnLowPriorityThread() throws Exception {
+        User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+        CountDownLatch updated = new CountDownLatch(1);
+        AtomicReference<Thread> upgradeThread = new AtomicReference<>();
+        when(userRepository.updatePasswordHash(eq(user.getId()), eq(user.getPassword()), anyString()))
+                .thenAnswer(invocation -> {
+                    upgradeThread.set(Thread.currentThread());
+                    updated.countDown();
+                    return 1;
+                });
+
+        service.upgradeIfNeeded(user, "secret");
+
+        assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(upgradeThread.get().getName()).isEqualTo("password-upgrade");
+        assertThat(upgradeThread.get().getPriority()).isEqualTo(Thread.MIN_PRIORITY);
+    }
+
+    @Test
+    void skipsUpgradeWhileLoginsAreWaiting() throws Exception {
+        User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+        String strongHash = service.encode("secret");
+        // One login occupies the only hashing thread and another waits in the queue
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHashingService blocked = new PasswordHashingService(blockingEncoder(release),
+                userRepository, new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(5));
+        try {
+            Thread first = new Thread(() -> blocked.matches("secret", strongHash));
+            Thread second = new Thread(() -> blocked.matches("secret", strongHash));
+            first.start();
+            second.start();
+            Thread.sleep(200);
+
+            blocked.upgradeIfNeeded(user, "secret");
+            release.countDown();
+            first.join();
+            second.join();
+            Thread.sleep(200);
+            verify(userRepository, never())
+                    .updatePasswordHash(any(), any(), any());
+        } finally {
+            release.countDown();
+            blocked.shutdown();
+        }
+    }
+
+    private static BCryptPasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new BCryptPasswordEncoder(5) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+    }
+
+    private static User user(String passwordHash) {
+        User user = new User("hash", "hash@example.com", passwordHash);
+        user.setId(42L);
+        return user;
+    }
+}
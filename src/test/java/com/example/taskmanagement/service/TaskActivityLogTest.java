@@ -0,0 +1,70 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TaskSnapshot;
+import com.example.taskmanagement.model.TaskActivity;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.TaskActivityRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class TaskActivityLogTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private final TaskActivityRepository activityRepository = mock(TaskActivityRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Copies of what each insertBatch call saw; the writer reuses its batch list
+    private final List<Long> written = new ArrayList<>();
+
+    @Test
+    void stopWritesEverythingStillBufferedAndDropsLaterRows() throws InterruptedException {
+        doAnswer(invocation -> {
+            List<TaskActivity> rows = invocation.getArgument(0);
+            rows.forEach(row -> written.add(row.getTaskId()));
+            return null;
+        }).when(activityRepository).insertBatch(anyList());
+        // Fewer rows than a batch and an hour-long flush interval: nothing is written before stop
+        TaskActivityLog log = new TaskActivityLog(activityRepository, mock(TaskRepository.class), meterRegistry,
+                64, 500, Duration.ofHours(1), TaskActivityLog.Overflow.DROP, Duration.ofMillis(100),
+                Duration.ofSeconds(10), 50, 200);
+        log.start();
+
+        for (long id = 1; id <= 20; id++) {
+            log.onTaskChanged(TaskChangedEvent.created(task(id)));
+        }
+        log.stop();
+
+        assertThat(written).containsExactlyElementsOf(ids(20));
+        assertThat(meterRegistry.get("tasks.activity.recorded").counter().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("tasks.activity.buffered").gauge().value()).isZero();
+
+        log.onTaskChanged(TaskChangedEvent.created(task(21)));
+        assertThat(written).hasSize(20);
+        assertThat(meterRegistry.get("tasks.activity.dropped").tag("reason", "stopped").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static List<Long> ids(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static TaskSnapshot task(long id) {
+        return new TaskSnapshot(id, 7L, "Task " + id, null, TaskStatus.TODO, null, TODAY, TODAY, id, 0, 0);
+    }
+}
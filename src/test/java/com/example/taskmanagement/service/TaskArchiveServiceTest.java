@@ -0,0 +1,131 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskBatchResultDTO;
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.model.TaskStatus;
+import com.example.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskArchiveServiceTest {
+
+    @Autowired
+    private TaskArchiveService archiveService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskDependencyService dependencyService;
+
+    @Autowired
+    private TaskCommentService commentService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "archive");
+    }
+
+    @Test
+    void tasksLinkedByADependencyOnEitherSideStayLive() {
+        TaskDTO dependent = expiredTask("Dependent");
+        TaskDTO dependency = expiredTask("Dependency");
+        TaskDTO unlinked = expiredTask("Unlinked");
+        dependencyService.addDependency(dependent.getId(), dependency.getId());
+        backdate(dependent.getId());
+        backdate(dependency.getId());
+
+        archiveService.archiveExpired();
+
+        assertThat(taskService.getTaskById(dependent.getId()).getTitle()).isEqualTo("Dependent");
+        assertThat(taskService.getTaskById(dependency.getId()).getTitle()).isEqualTo("Dependency");
+        assertThat(archiveService.getArchivedTask(unlinked.getId()).getTitle()).isEqualTo("Unlinked");
+    }
+
+    @Test
+    void deletingAnArchivedTaskRemovesItAndWhatItKept() {
+        TaskDTO task = expiredTask("Archived");
+        commentService.addComment(task.getId(), userId, "Kept in the archive");
+        backdate(task.getId());
+        archiveService.archiveExpired();
+        assertThat(archiveService.getArchivedTask(task.getId()).getCommentCount()).isEqualTo(1);
+        // The backdating bypassed the change events the counters follow
+        analyticsService.rebuild();
+
+        taskService.deleteTask(task.getId());
+
+        assertThatThrownBy(() -> archiveService.getArchivedTask(task.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> taskService.getTaskById(task.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task_comments where task_id = ?",
+                Integer.class, task.getId())).isZero();
+        assertThat(taskService.getChanges(userId, 0).getDeleted()).containsExactly(task.getId());
+        assertThat(analyticsService.isConsistent(userId)).isTrue();
+        assertThat(analyticsService.getAnalytics(userId).getTotalTasks()).isZero();
+    }
+
+    @Test
+    void batchDeletingAnArchivedTaskRemovesItAndWhatItKept() {
+        TaskDTO archived = expiredTask("Archived");
+        commentService.addComment(archived.getId(), userId, "Kept in the archive");
+        backdate(archived.getId());
+        archiveService.archiveExpired();
+        analyticsService.rebuild();
+        TaskDTO live = taskService.createTask(task("Live", userId));
+
+        TaskBatchResultDTO result = taskService.deleteTasks(List.of(archived.getId(), live.getId()));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThatThrownBy(() -> archiveService.getArchivedTask(archived.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task_comments where task_id = ?",
+                Integer.class, archived.getId())).isZero();
+        assertThat(taskService.getChanges(userId, 0).getDeleted())
+                .containsExactlyInAnyOrder(archived.getId(), live.getId());
+        assertThat(analyticsService.isConsistent(userId)).isTrue();
+        assertThat(analyticsService.getAnalytics(userId).getTotalTasks()).isZero();
+    }
+
+    private TaskDTO expiredTask(String title) {
+        TaskDTO dto = task(title, userId);
+        dto.setStatus(TaskStatus.COMPLETED);
+        TaskDTO task = taskService.createTask(dto);
+        backdate(task.getId());
+        return task;
+    }
+
+    // Well past the default 90-day age; set directly since every write stamps today
+    private void backdate(Long taskId) {
+        jdbcTemplate.update("update tasks set updated_at = ? where id = ?",
+                Date.valueOf(LocalDate.now().minusDays(365)), taskId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.exception.EntityNotFoundException;
+import com.example.taskmanagement.repository.TaskDependencyRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskDependencyServiceTest {
+
+    @Autowired
+    private TaskDependencyService dependencyService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository dependencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "deps");
+    }
+
+    @Test
+    void edgeToTaskDeletedConcurrentlyIsNotCreated() throws Exception {
+        TaskDTO task = taskService.createTask(task("Task", userId));
+        TaskDTO dependency = taskService.createTask(task("Dependency", userId));
+
+        // Holds the dependency's row lock like a delete in progress, and deletes it while the
+        // edge is being added
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> delete = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    taskRepository.lockById(dependency.getId());
+                    locked.countDown();
+                    sleep(300);
+                    taskRepository.deleteById(dependency.getId());
+                }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> dependencyService.addDependency(task.getId(), dependency.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        delete.get(5, TimeUnit.SECONDS);
+        assertThat(dependencyRepository.findAll()).noneMatch(edge -> edge.getTaskId().equals(task.getId()));
+    }
+
+    @Test
+    void addsAndRemovesDependency() {
+        TaskDTO task = taskService.createTask(task("Task", userId));
+        TaskDTO dependency = taskService.createTask(task("Dependency", userId));
+
+        dependencyService.addDependency(task.getId(), dependency.getId());
+        assertThat(dependencyService.getDependencies(task.getId()))
+                .extracting(TaskDTO::getId).containsExactly(dependency.getId());
+
+        dependencyService.removeDependency(task.getId(), dependency.getId());
+        assertThat(dependencyService.getDependencies(task.getId())).isEmpty();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.taskmanagement.TestFixtures.createUser;
+import static com.example.taskmanagement.TestFixtures.task;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Task reads are projected straight into DTOs: one statement however many tasks the user has,
+ * and none at all once the result is cached. Batch writes are JDBC batches, so the statements a
+ * batch takes do not grow with its size either.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskServiceStatementCountTest {
+    private static final int TASKS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser(userRepository, "statements");
+        for (int i = 0; i < TASKS; i++) {
+            TaskDTO task = task("Task " + i, userId);
+            task.setDueDate(LocalDate.now().plusDays(i));
+            taskId = taskService.createTask(task).getId();
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void listingTasksForUserIsOneStatementThenCached() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(TASKS)))
+                .andExpect(jsonPath("$[0].userName").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/tasks").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(TASKS)));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void readingOneTaskIsOneStatementThenCached() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(taskId))
+                .andExpect(jsonPath("$.userName").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void batchDeleteStatementsDoNotGrowWithTheBatch() {
+        List<Long> ids = taskService.getAllTasks(userId).stream().map(TaskDTO::getId).toList();
+        long single = deleteStatements(ids.subList(0, 1));
+
+        assertThat(deleteStatements(ids.subList(1, TASKS))).isEqualTo(single);
+        assertThat(taskService.getChanges(userId, 0).getDeleted()).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    // Counted before the commit; the listeners that run after it are not part of the batch
+    private long deleteStatements(List<Long> ids) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            statistics.clear();
+            taskService.deleteTasks(ids);
+            return statistics.getPrepareStatementCount();
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class UserChangeFeedTest {
+    private final ExecutorService sender = Executors.newFixedThreadPool(2);
+    private final Counter slowClosed = new SimpleMeterRegistry().counter("closed");
+
+    @AfterEach
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    void deliversReplayAndLiveEventsInOrder() throws Exception {
+        UserChangeFeed feed = new UserChangeFeed(16, 8, sender, slowClosed);
+        feed.publish(1, "{\"n\":1}");
+        feed.publish(2, "{\"n\":2}");
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        feed.subscribe(emitter, 1L, 2, 1000);
+        for (int i = 3; i <= 6; i++) {
+            feed.publish(i, "{\"n\":" + i + "}");
+        }
+        emitter.awaitSent(6);
+        assertThat(emitter.ids()).containsExactly("2", "3", "4", "5", "6");
+    }
+
+    @Test
+    void publishDoesNotWaitForASlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UserChangeFeed feed = new UserChangeFeed(16, 8, sender, slowClosed);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        feed.subscribe(slow, null, 0, 1000);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                for (int i = 1; i <= 5; i++) {
+                    feed.publish(i, "{}");
+                }
+            });
+        } finally {
+            release.countDown();
+        }
+        slow.awaitSent(6);
+        assertThat(slow.ids()).containsExactly("1", "2", "3", "4", "5");
+        assertThat(slowClosed.count()).isZero();
+    }
+
+    @Test
+    void closesSubscriberThatFallsTooFarBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UserChangeFeed feed = new UserChangeFeed(16, 2, sender, slowClosed);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        feed.subscribe(slow, null, 0, 1000);
+        slow.awaitSendStarted();
+        for (int i = 1; i <= 3; i++) {
+            feed.publish(i, "{}");
+        }
+        assertThat(slowClosed.count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        // Only the write that was in progress went out; the queue was dropped
+        assertThat(slow.ids()).isEmpty();
+        assertThat(feed.heartbeat()).isZero();
+    }
+
+    // Records events instead of writing them; optionally blocks every write until released
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private void awaitSendStarted() throws InterruptedException {
+            assertThat(sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        private void awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(sent).hasSize(count);
+        }
+
+        // SSE ids of the change events sent, in order
+        private List<String> ids() {
+            return sent.stream()
+                    .filter(event -> event.startsWith("id:"))
+                    .map(event -> event.substring(3, event.indexOf('\n')))
+                    .collect(Collectors.toList());
+        }
+    }
+}